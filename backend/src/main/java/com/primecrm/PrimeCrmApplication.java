@@ -7,6 +7,8 @@ import org.springframework.modulith.Modulith;
 @SpringBootApplication
 @Modulith
 @org.springframework.cache.annotation.EnableCaching
+@org.springframework.scheduling.annotation.EnableScheduling
+@org.springframework.scheduling.annotation.EnableAsync
 public class PrimeCrmApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,74 @@
+package com.primecrm.core;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-collection change counters backing the list endpoints' ETags. Counters live in memory,
+// so the epoch changes on every start and ETags issued by a previous process never match.
+@Component
+public class CollectionVersions {
+
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private final String epoch = Long.toString(UUID.randomUUID().getMostSignificantBits() & Long.MAX_VALUE, 36);
+    private final ConcurrentMap<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public long current(String collection) {
+        return counter(collection).get();
+    }
+
+    // Inside a transaction the bump waits for the commit, so a reader can never pair
+    // the new version with data from before the write.
+    public void bump(String... collections) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(collections);
+                }
+            });
+        } else {
+            increment(collections);
+        }
+    }
+
+    // Sets the ETag for this request and answers 304 when the client already has it;
+    // callers return null in that case, before touching the database.
+    public boolean checkNotModified(String collection, NativeWebRequest request) {
+        HttpServletResponse response = request.getNativeResponse(HttpServletResponse.class);
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        return request.checkNotModified(etag(collection, request));
+    }
+
+    String etag(String collection, NativeWebRequest request) {
+        int variant = Objects.hash(request.getParameterMap().entrySet().stream()
+                .map(e -> e.getKey() + "=" + String.join(",", e.getValue()))
+                .sorted()
+                .toList(), request.getHeader(HttpHeaders.ACCEPT));
+        return "\"" + collection + "-" + epoch + "-" + current(collection) + "-" + Integer.toHexString(variant) + "\"";
+    }
+
+    private void increment(String... collections) {
+        for (String collection : collections) {
+            counter(collection).incrementAndGet();
+        }
+    }
+
+    private AtomicLong counter(String collection) {
+        return versions.computeIfAbsent(collection, key -> new AtomicLong());
+    }
+}
@@ -0,0 +1,88 @@
+package com.primecrm.core;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// An in-memory view of some tables, built by a full read and then kept current from committed
+// writes. Writes that land while a rebuild is reading the tables go to the current view and are
+// replayed onto the new one before it is swapped in, so the rebuild never loses them; the read may
+// also have seen those rows, so every replayed write has to be idempotent. One rebuild at a time.
+public final class RebuildableView<V> {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private V current;
+    private List<Consumer<? super V>> pending;
+
+    public RebuildableView(V initial) {
+        this.current = initial;
+    }
+
+    public <R> R read(Function<? super V, R> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.apply(current);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Exclusive access that is not replayed onto a rebuild, for work on the view itself rather
+    // than a write from the tables.
+    public <R> R update(Function<? super V, R> op) {
+        lock.writeLock().lock();
+        try {
+            return op.apply(current);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void apply(Consumer<? super V> op) {
+        update(view -> {
+            op.accept(view);
+            if (pending != null) {
+                pending.add(op);
+            }
+            return null;
+        });
+    }
+
+    // Like CollectionVersions.bump, inside a transaction the write waits for the commit so a
+    // rolled-back write never reaches the view.
+    public void afterCommit(Consumer<? super V> op) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(op);
+                }
+            });
+        } else {
+            apply(op);
+        }
+    }
+
+    // Swaps in the view returned by loader, with the writes made meanwhile replayed onto it. When
+    // the loader throws, the current view is kept and the exception rethrown.
+    public V rebuild(Supplier<? extends V> loader) {
+        update(view -> pending = new ArrayList<>());
+        try {
+            V fresh = loader.get();
+            return update(view -> {
+                pending.forEach(op -> op.accept(fresh));
+                current = fresh;
+                return fresh;
+            });
+        } finally {
+            update(view -> pending = null);
+        }
+    }
+}
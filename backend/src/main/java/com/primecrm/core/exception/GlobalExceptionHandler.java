@@ -32,6 +32,12 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.FORBIDDEN, "Access Denied", request);
     }
 
+    @ExceptionHandler(com.primecrm.core.journal.JournalFullException.class)
+    public ResponseEntity<ErrorResponse> handleJournalFull(com.primecrm.core.journal.JournalFullException ex,
+            HttpServletRequest request) {
+        return buildResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), request);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationErrors(MethodArgumentNotValidException ex,
             HttpServletRequest request) {
@@ -0,0 +1,10 @@
+package com.primecrm.core.export;
+
+import java.util.function.Function;
+
+public record ExportColumn<T>(String name, Function<T, Object> value) {
+
+    public static <T> ExportColumn<T> of(String name, Function<T, Object> value) {
+        return new ExportColumn<>(name, value);
+    }
+}
@@ -0,0 +1,147 @@
+package com.primecrm.core.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+@Component
+public class StreamingExporter {
+
+    // Used as the JDBC fetch size by the repositories' stream queries; also how often the
+    // persistence context is cleared, so at most one fetch worth of entities is ever held.
+    public static final String FETCH_SIZE = "500";
+
+    private static final int CLEAR_INTERVAL = Integer.parseInt(FETCH_SIZE);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public StreamingExporter(EntityManager entityManager, ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public <T> ResponseEntity<StreamingResponseBody> export(String name, ExportFormat format, boolean gzip,
+            List<ExportColumn<T>> columns, Supplier<Stream<T>> rows) {
+        StreamingResponseBody body = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : out;
+            Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), BUFFER_SIZE);
+            // Postgres only uses a server-side cursor (honouring the fetch size) inside a transaction
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<T> stream = rows.get()) {
+                    write(format, writer, columns, stream.iterator());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+            if (target instanceof GZIPOutputStream gzipStream) {
+                gzipStream.finish();
+            }
+        };
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(format.mediaType());
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(name + "." + format.extension())
+                .build());
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+
+    public static boolean acceptsGzip(String acceptEncoding) {
+        return acceptEncoding != null && acceptEncoding.toLowerCase(java.util.Locale.ROOT).contains("gzip");
+    }
+
+    private <T> void write(ExportFormat format, Writer writer, List<ExportColumn<T>> columns, Iterator<T> rows)
+            throws IOException {
+        if (format == ExportFormat.CSV) {
+            writeCsv(writer, columns, rows);
+        } else {
+            writeNdjson(writer, columns, rows);
+        }
+    }
+
+    private <T> void writeNdjson(Writer writer, List<ExportColumn<T>> columns, Iterator<T> rows) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        int count = 0;
+        while (rows.hasNext()) {
+            T row = rows.next();
+            generator.writeStartObject();
+            for (ExportColumn<T> column : columns) {
+                generator.writeFieldName(column.name());
+                objectMapper.writeValue(generator, column.value().apply(row));
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            clearPeriodically(++count);
+        }
+        generator.flush();
+    }
+
+    private <T> void writeCsv(Writer writer, List<ExportColumn<T>> columns, Iterator<T> rows) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvField(columns.get(i).name()));
+        }
+        writer.write("\r\n");
+        int count = 0;
+        while (rows.hasNext()) {
+            T row = rows.next();
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = columns.get(i).value().apply(row);
+                writer.write(value == null ? "" : csvField(value.toString()));
+            }
+            writer.write("\r\n");
+            clearPeriodically(++count);
+        }
+    }
+
+    private void clearPeriodically(int count) {
+        if (count % CLEAR_INTERVAL == 0) {
+            entityManager.clear();
+        }
+    }
+
+    static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,2 @@
+@org.springframework.modulith.NamedInterface("export")
+package com.primecrm.core.export;
@@ -0,0 +1,8 @@
+package com.primecrm.core.journal;
+
+// The journal has reached its segment limit because its consumer is not keeping up; callers should back off.
+public class JournalFullException extends RuntimeException {
+    public JournalFullException(String message) {
+        super(message);
+    }
+}
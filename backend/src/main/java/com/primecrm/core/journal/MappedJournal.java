@@ -0,0 +1,315 @@
+package com.primecrm.core.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+// Append-only journal of opaque records in fixed-size, memory-mapped segment files. append() returns once
+// its records are forced to disk; appenders that arrive while a force is running share the next one
+// (group commit). A single consumer reads from the last checkpoint and commits positions it has
+// processed, which deletes the segments behind it. Records are [length][crc32c][payload]; when a segment
+// cannot fit the next record it is closed with a roll marker. On open the tail is scanned and anything
+// from the first torn or corrupt record on is discarded, since it was never acknowledged.
+public final class MappedJournal {
+
+    private static final int HEADER = 8;
+    private static final int ROLL = -1;
+    private static final String CHECKPOINT = "checkpoint";
+    private static final String SUFFIX = ".seg";
+    private static final byte[] ZEROS = new byte[64 * 1024];
+
+    public record Position(long segment, int offset) implements Comparable<Position> {
+
+        @Override
+        public int compareTo(Position other) {
+            int cmp = Long.compare(segment, other.segment);
+            return cmp != 0 ? cmp : Integer.compare(offset, other.offset);
+        }
+    }
+
+    // Records from start (inclusive) to end (exclusive); commit end once they are processed.
+    public record Batch(Position start, List<byte[]> records, Position end) {
+
+        public boolean isEmpty() {
+            return records.isEmpty();
+        }
+    }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+
+    // Guarded by this
+    private final TreeMap<Long, MappedByteBuffer> segments = new TreeMap<>();
+    private MappedByteBuffer active;
+    private long activeSegment;
+    private int writeOffset;
+
+    private final Object syncLock = new Object();
+    private volatile Position synced;
+
+    // Consumer side only
+    private Position checkpoint;
+
+    private MappedJournal(Path directory, int segmentSize, int maxSegments) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+        Files.createDirectories(directory);
+
+        List<Long> existing = listSegments();
+        Position start = readCheckpoint();
+        if (start == null) {
+            start = new Position(existing.isEmpty() ? 0 : existing.get(0), 0);
+        }
+        for (long segment : existing) {
+            if (segment < start.segment()) {
+                Files.deleteIfExists(segmentPath(segment));
+            } else {
+                segments.put(segment, map(segment));
+            }
+        }
+        if (!segments.containsKey(start.segment())) {
+            segments.put(start.segment(), map(start.segment()));
+        }
+
+        Position end = scan(start);
+        // Segments after the last valid record can only come from a roll that never completed
+        for (long segment : new ArrayList<>(segments.tailMap(end.segment(), false).keySet())) {
+            segments.remove(segment);
+            Files.deleteIfExists(segmentPath(segment));
+        }
+        active = segments.get(end.segment());
+        activeSegment = end.segment();
+        writeOffset = end.offset();
+        zeroTail();
+
+        this.checkpoint = start;
+        this.synced = end;
+    }
+
+    public static MappedJournal open(Path directory, int segmentSize, int maxSegments) {
+        if (segmentSize < 1024) {
+            throw new IllegalArgumentException("Journal segments must be at least 1 KB");
+        }
+        try {
+            return new MappedJournal(directory, segmentSize, maxSegments);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open journal in " + directory, e);
+        }
+    }
+
+    public int maxRecordSize() {
+        return segmentSize - HEADER - Integer.BYTES;
+    }
+
+    // Durable once this returns; either every record of the call is appended or none is.
+    public Position append(List<byte[]> records) {
+        Position end;
+        synchronized (this) {
+            reserve(records);
+            for (byte[] record : records) {
+                if (writeOffset + HEADER + record.length > maxRecordSize() + HEADER) {
+                    roll();
+                }
+                CRC32C crc = new CRC32C();
+                crc.update(record);
+                active.putInt(writeOffset + Integer.BYTES, (int) crc.getValue());
+                active.put(writeOffset + HEADER, record);
+                active.putInt(writeOffset, record.length);
+                writeOffset += HEADER + record.length;
+            }
+            end = new Position(activeSegment, writeOffset);
+        }
+        sync(end);
+        return end;
+    }
+
+    // Up to maxRecords durable records after the last commit; empty when the consumer has caught up.
+    public Batch read(int maxRecords) {
+        Position start = checkpoint;
+        Position limit = synced;
+        Position position = start;
+        List<byte[]> records = new ArrayList<>();
+        while (records.size() < maxRecords && position.compareTo(limit) < 0) {
+            MappedByteBuffer buffer = segment(position.segment());
+            int length = buffer.getInt(position.offset());
+            if (length == ROLL) {
+                position = new Position(position.segment() + 1, 0);
+                continue;
+            }
+            byte[] record = new byte[length];
+            buffer.get(position.offset() + HEADER, record);
+            records.add(record);
+            position = new Position(position.segment(), position.offset() + HEADER + length);
+        }
+        return new Batch(start, records, position);
+    }
+
+    public void commit(Position position) {
+        try {
+            Path temp = directory.resolve(CHECKPOINT + ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                channel.write(ByteBuffer.allocate(Long.BYTES + Integer.BYTES)
+                        .putLong(position.segment())
+                        .putInt(position.offset())
+                        .flip());
+                channel.force(true);
+            }
+            Files.move(temp, directory.resolve(CHECKPOINT), StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+            checkpoint = position;
+
+            List<Long> consumed;
+            synchronized (this) {
+                Map<Long, MappedByteBuffer> behind = segments.headMap(position.segment(), false);
+                consumed = new ArrayList<>(behind.keySet());
+                behind.clear();
+            }
+            for (long segment : consumed) {
+                Files.deleteIfExists(segmentPath(segment));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot checkpoint journal in " + directory, e);
+        }
+    }
+
+    // Checks that the whole call fits before anything is written, so a rejected append leaves no trace.
+    private void reserve(List<byte[]> records) {
+        int offset = writeOffset;
+        int segmentCount = segments.size();
+        for (byte[] record : records) {
+            if (record.length == 0 || record.length > maxRecordSize()) {
+                throw new IllegalArgumentException(
+                        "Journal records must be between 1 and " + maxRecordSize() + " bytes");
+            }
+            if (offset + HEADER + record.length > maxRecordSize() + HEADER) {
+                segmentCount++;
+                offset = 0;
+            }
+            offset += HEADER + record.length;
+        }
+        if (segmentCount > maxSegments) {
+            throw new JournalFullException("Journal in " + directory + " is full (" + maxSegments + " segments)");
+        }
+    }
+
+    private void roll() {
+        active.putInt(writeOffset, ROLL);
+        // The finished segment is forced here so later syncs only need to force the active one
+        active.force();
+        long next = activeSegment + 1;
+        try {
+            active = map(next);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create journal segment " + next, e);
+        }
+        segments.put(next, active);
+        activeSegment = next;
+        writeOffset = 0;
+    }
+
+    // Whoever gets the lock forces everything written so far, covering any appenders queued behind it.
+    private void sync(Position end) {
+        synchronized (syncLock) {
+            if (synced.compareTo(end) >= 0) {
+                return;
+            }
+            MappedByteBuffer buffer;
+            Position target;
+            synchronized (this) {
+                buffer = active;
+                target = new Position(activeSegment, writeOffset);
+            }
+            int from = synced.segment() == target.segment() ? synced.offset() : 0;
+            buffer.force(from, target.offset() - from);
+            synced = target;
+        }
+    }
+
+    private Position scan(Position start) {
+        Position position = start;
+        while (true) {
+            MappedByteBuffer buffer = segments.get(position.segment());
+            int offset = position.offset();
+            if (offset + Integer.BYTES > segmentSize) {
+                return position;
+            }
+            int length = buffer.getInt(offset);
+            if (length == ROLL && segments.containsKey(position.segment() + 1)) {
+                position = new Position(position.segment() + 1, 0);
+                continue;
+            }
+            if (length <= 0 || offset + HEADER > segmentSize || length > segmentSize - offset - HEADER) {
+                return position;
+            }
+            byte[] record = new byte[length];
+            buffer.get(offset + HEADER, record);
+            CRC32C crc = new CRC32C();
+            crc.update(record);
+            if ((int) crc.getValue() != buffer.getInt(offset + Integer.BYTES)) {
+                return position;
+            }
+            position = new Position(position.segment(), offset + HEADER + length);
+        }
+    }
+
+    // Clears whatever a torn write left behind the last valid record, so it can never be read back as
+    // part of a later record.
+    private void zeroTail() {
+        for (int offset = writeOffset; offset < segmentSize; offset += ZEROS.length) {
+            active.put(offset, ZEROS, 0, Math.min(ZEROS.length, segmentSize - offset));
+        }
+        active.force();
+    }
+
+    private synchronized MappedByteBuffer segment(long segment) {
+        return segments.get(segment);
+    }
+
+    private MappedByteBuffer map(long segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentPath(segment), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+    }
+
+    private Position readCheckpoint() throws IOException {
+        Path path = directory.resolve(CHECKPOINT);
+        if (!Files.exists(path)) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        if (buffer.remaining() != Long.BYTES + Integer.BYTES) {
+            return null;
+        }
+        return new Position(buffer.getLong(), buffer.getInt());
+    }
+
+    private List<Long> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(String.format("%016d%s", segment, SUFFIX));
+    }
+}
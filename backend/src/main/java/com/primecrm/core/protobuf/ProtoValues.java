@@ -0,0 +1,46 @@
+package com.primecrm.core.protobuf;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Timestamp;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+public final class ProtoValues {
+
+    public static final String MEDIA_TYPE = "application/x-protobuf";
+
+    private ProtoValues() {
+    }
+
+    public static ByteString uuid(UUID id) {
+        return ByteString.copyFrom(ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array());
+    }
+
+    public static UUID uuid(ByteString bytes) {
+        ByteBuffer buffer = bytes.asReadOnlyByteBuffer();
+        if (buffer.remaining() != 16) {
+            throw new IllegalArgumentException("UUIDs are encoded as 16 bytes, got " + buffer.remaining());
+        }
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    public static LocalDateTime localDateTime(Timestamp timestamp) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(timestamp.getSeconds(), timestamp.getNanos()),
+                ZoneId.systemDefault());
+    }
+
+    public static Timestamp timestamp(LocalDateTime time) {
+        var instant = time.atZone(ZoneId.systemDefault()).toInstant();
+        return Timestamp.newBuilder()
+                .setSeconds(instant.getEpochSecond())
+                .setNanos(instant.getNano())
+                .build();
+    }
+}
@@ -0,0 +1,2 @@
+@org.springframework.modulith.NamedInterface("protobuf")
+package com.primecrm.core.protobuf;
@@ -7,30 +7,51 @@ import jakarta.persistence.criteria.Root;
 import lombok.AllArgsConstructor;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.Locale;
+
 @AllArgsConstructor
 public class BaseSpecification<T> implements Specification<T> {
 
+    private static final char LIKE_ESCAPE = '\\';
+
     private SearchCriteria criteria;
 
+    // Values are compared as they are, so callers coerce them to the attribute's type first
+    // (see SearchSchema); a String compared against a numeric column would order lexically.
     @Override
+    @SuppressWarnings({ "unchecked", "rawtypes" })
     public Predicate toPredicate(@org.springframework.lang.NonNull Root<T> root,
             @org.springframework.lang.NonNull CriteriaQuery<?> query,
             @org.springframework.lang.NonNull CriteriaBuilder builder) {
         if (criteria.getOperation().equalsIgnoreCase(">")) {
             return builder.greaterThanOrEqualTo(
-                    root.get(criteria.getKey()), criteria.getValue().toString());
+                    root.<Comparable>get(criteria.getKey()), (Comparable) criteria.getValue());
         } else if (criteria.getOperation().equalsIgnoreCase("<")) {
             return builder.lessThanOrEqualTo(
-                    root.get(criteria.getKey()), criteria.getValue().toString());
+                    root.<Comparable>get(criteria.getKey()), (Comparable) criteria.getValue());
         } else if (criteria.getOperation().equalsIgnoreCase(":")) {
             if (root.get(criteria.getKey()).getJavaType() == String.class) {
                 return builder.like(
                         builder.lower(root.get(criteria.getKey())),
-                        "%" + criteria.getValue().toString().toLowerCase() + "%");
+                        "%" + escapeLike(criteria.getValue().toString().toLowerCase(Locale.ROOT)) + "%",
+                        LIKE_ESCAPE);
             } else {
                 return builder.equal(root.get(criteria.getKey()), criteria.getValue());
             }
         }
         return null;
     }
+
+    // '%' and '_' in the value match themselves, as they do in TrigramIndex.
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
 }
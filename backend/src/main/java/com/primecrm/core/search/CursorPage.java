@@ -0,0 +1,23 @@
+package com.primecrm.core.search;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public ResponseEntity<List<T>> toResponseEntity() {
+        return toResponseEntity(CursorPage::items);
+    }
+
+    public <R> ResponseEntity<R> toResponseEntity(Function<CursorPage<T>, R> body) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(body.apply(this));
+    }
+}
@@ -0,0 +1,69 @@
+package com.primecrm.core.search;
+
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Set;
+import java.util.UUID;
+
+public record CursorPageRequest(String sortField, Sort.Direction direction, int limit, Cursor after) {
+
+    public static final String DEFAULT_SORT_FIELD = "createdAt";
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 500;
+
+    // value is null when the last row's sort value was NULL.
+    public record Cursor(String value, UUID id) {
+    }
+
+    public Sort toSort() {
+        return Sort.by(direction, sortField).and(Sort.by(direction, "id"));
+    }
+
+    public static CursorPageRequest of(String sort, String cursor, Integer limit, Set<String> sortableFields) {
+        String field = DEFAULT_SORT_FIELD;
+        Sort.Direction direction = Sort.Direction.DESC;
+        if (sort != null && !sort.isBlank()) {
+            String[] parts = sort.split(",", 2);
+            field = parts[0].trim();
+            if (parts.length > 1) {
+                direction = Sort.Direction.fromOptionalString(parts[1].trim())
+                        .orElseThrow(() -> new IllegalArgumentException("Invalid sort direction: " + parts[1]));
+            } else {
+                direction = Sort.Direction.ASC;
+            }
+        }
+        if (!field.equals(DEFAULT_SORT_FIELD) && !sortableFields.contains(field)) {
+            throw new IllegalArgumentException("Cannot sort by '" + field + "'");
+        }
+
+        int pageSize = limit != null ? limit : DEFAULT_LIMIT;
+        if (pageSize < 1 || pageSize > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return new CursorPageRequest(field, direction, pageSize, decode(cursor, field, direction));
+    }
+
+    // A NULL sort value is encoded by leaving the value part out, so it cannot be mistaken for the text "null".
+    public String encodeCursor(Object sortValue, UUID id) {
+        String raw = sortField + "|" + direction.name() + "|" + id + (sortValue != null ? "|" + sortValue : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decode(String cursor, String field, Sort.Direction direction) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            if (parts.length < 3 || !parts[0].equals(field) || !parts[1].equals(direction.name())) {
+                throw new IllegalArgumentException("Cursor does not match the requested sort order");
+            }
+            return new Cursor(parts.length == 4 ? parts[3] : null, UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
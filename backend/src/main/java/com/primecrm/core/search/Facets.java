@@ -0,0 +1,167 @@
+package com.primecrm.core.search;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Bucket counts over the same filter as a list query. Term facets are one GROUP BY each, ordered
+// by count and cut at the bucket limit; range facets are one GROUP BY over the band index.
+public final class Facets<T> {
+
+    public static final int DEFAULT_BUCKETS = 10;
+    public static final int MAX_BUCKETS = 50;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Bucket(Object key, String label, long count) {
+    }
+
+    // truncated is set when the facet has more buckets than were returned.
+    public record Result(List<Bucket> buckets, boolean truncated) {
+    }
+
+    private interface Facet<T> {
+        Result count(EntityManager entityManager, Class<T> entityType, Specification<T> filter, int maxBuckets);
+    }
+
+    private final Class<T> entityType;
+    private final Map<String, Facet<T>> facets = new LinkedHashMap<>();
+
+    private Facets(Class<T> entityType) {
+        this.entityType = entityType;
+    }
+
+    public static <T> Facets<T> of(Class<T> entityType) {
+        return new Facets<>(entityType);
+    }
+
+    public Facets<T> terms(String name, String path) {
+        return terms(name, path, null);
+    }
+
+    // Buckets keyed by path, with labelPath (for example the name behind a foreign key) alongside.
+    public Facets<T> terms(String name, String path, String labelPath) {
+        facets.put(name, (entityManager, type, filter, maxBuckets) -> {
+            CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+            CriteriaQuery<Tuple> query = builder.createTupleQuery();
+            Root<T> root = query.from(type);
+            Map<String, From<?, ?>> joins = new HashMap<>();
+            Path<?> key = Projection.resolve(root, path, joins);
+            Path<?> label = labelPath != null ? Projection.resolve(root, labelPath, joins) : null;
+            Expression<Long> count = builder.count(root);
+            if (label != null) {
+                query.multiselect(key, count, label).groupBy(key, label);
+            } else {
+                query.multiselect(key, count).groupBy(key);
+            }
+            where(query, root, builder, filter);
+            query.orderBy(builder.desc(count));
+
+            List<Tuple> rows = entityManager.createQuery(query).setMaxResults(maxBuckets + 1).getResultList();
+            List<Bucket> buckets = new ArrayList<>(Math.min(rows.size(), maxBuckets));
+            for (Tuple row : rows.subList(0, Math.min(rows.size(), maxBuckets))) {
+                buckets.add(new Bucket(row.get(0), label != null ? (String) row.get(2) : null,
+                        (Long) row.get(1)));
+            }
+            return new Result(buckets, rows.size() > maxBuckets);
+        });
+        return this;
+    }
+
+    // Bands below the first bound, between consecutive bounds and from the last bound up;
+    // every band is returned, even when its count is zero. All bands come from one GROUP BY over
+    // a CASE of the band index. The bounds are inlined as literals: bound parameters would make
+    // the grouped expression differ from the selected one, which Postgres rejects.
+    public Facets<T> ranges(String name, String path, long... bounds) {
+        if (bounds.length == 0) {
+            throw new IllegalArgumentException("Range facet '" + name + "' needs at least one bound");
+        }
+        List<String> keys = new ArrayList<>(bounds.length + 1);
+        for (int i = 0; i <= bounds.length; i++) {
+            keys.add(i == 0 ? "<" + bounds[0]
+                    : i == bounds.length ? ">=" + bounds[i - 1]
+                    : bounds[i - 1] + "-" + bounds[i]);
+        }
+        facets.put(name, (entityManager, type, filter, maxBuckets) -> {
+            CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+            CriteriaQuery<Tuple> query = builder.createTupleQuery();
+            Root<T> root = query.from(type);
+            Path<BigDecimal> value = root.get(path);
+            CriteriaBuilder.Case<Integer> cases = builder.selectCase();
+            for (int i = 0; i < bounds.length; i++) {
+                cases = cases.when(builder.lessThan(value, builder.literal(BigDecimal.valueOf(bounds[i]))),
+                        builder.literal(i));
+            }
+            Expression<Integer> band = cases.otherwise(builder.literal(bounds.length));
+            query.multiselect(band, builder.count(root)).groupBy(band);
+            where(query, root, builder, Specification.<T>where(filter)
+                    .and((r, q, b) -> b.isNotNull(value)));
+
+            long[] counts = new long[keys.size()];
+            for (Tuple row : entityManager.createQuery(query).getResultList()) {
+                counts[((Number) row.get(0)).intValue()] = (Long) row.get(1);
+            }
+            List<Bucket> buckets = new ArrayList<>(keys.size());
+            for (int i = 0; i < keys.size(); i++) {
+                buckets.add(new Bucket(keys.get(i), null, counts[i]));
+            }
+            return new Result(buckets, false);
+        });
+        return this;
+    }
+
+    public Map<String, Result> count(EntityManager entityManager, Specification<T> filter, String names,
+            Integer buckets) {
+        int maxBuckets = buckets != null ? buckets : DEFAULT_BUCKETS;
+        if (maxBuckets < 1 || maxBuckets > MAX_BUCKETS) {
+            throw new IllegalArgumentException("buckets must be between 1 and " + MAX_BUCKETS);
+        }
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (String name : resolve(names)) {
+            results.put(name, facets.get(name).count(entityManager, entityType, filter, maxBuckets));
+        }
+        return results;
+    }
+
+    private Set<String> resolve(String names) {
+        if (names == null || names.isBlank()) {
+            return facets.keySet();
+        }
+        Set<String> resolved = new LinkedHashSet<>();
+        for (String name : names.split(",")) {
+            String facet = name.trim();
+            if (facet.isEmpty()) {
+                continue;
+            }
+            if (!facets.containsKey(facet)) {
+                throw new IllegalArgumentException("Unknown facet '" + facet + "', expected one of " + facets.keySet());
+            }
+            resolved.add(facet);
+        }
+        return resolved;
+    }
+
+    private static <T> void where(CriteriaQuery<?> query, Root<T> root, CriteriaBuilder builder,
+            Specification<T> filter) {
+        Predicate predicate = Specification.where(filter).toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+}
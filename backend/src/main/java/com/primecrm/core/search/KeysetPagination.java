@@ -0,0 +1,153 @@
+package com.primecrm.core.search;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+public final class KeysetPagination {
+
+    private KeysetPagination() {
+    }
+
+    public static <T> CursorPage<T> fetch(JpaSpecificationExecutor<T> repository, Specification<T> filter,
+            CursorPageRequest page) {
+        List<T> rows = fetchAfter(page, filter, (spec, count) ->
+                repository.findBy(spec, query -> query.sortBy(page.toSort()).limit(count).all()));
+
+        if (rows.size() <= page.limit()) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = new ArrayList<>(rows.subList(0, page.limit()));
+        BeanWrapperImpl last = new BeanWrapperImpl(items.get(items.size() - 1));
+        String nextCursor = page.encodeCursor(
+                last.getPropertyValue(page.sortField()), (UUID) last.getPropertyValue("id"));
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    // Rows are fetched as plain arrays and turned straight into the projection's record.
+    public static <T, V extends Record> CursorPage<V> fetch(EntityManager entityManager, Projection<T, V> projection,
+            Specification<T> filter, CursorPageRequest page, String fields) {
+        List<String> selected = new ArrayList<>(projection.resolve(fields));
+        int requested = selected.size();
+        if (!selected.contains(page.sortField())) {
+            selected.add(page.sortField());
+        }
+        int sortIndex = selected.indexOf(page.sortField());
+        int idIndex = selected.indexOf("id");
+
+        List<Object[]> rows = fetchAfter(page, filter, (spec, count) -> {
+            CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+            CriteriaQuery<Object[]> query = builder.createQuery(Object[].class);
+            Root<T> root = query.from(projection.entityType());
+            Map<String, From<?, ?>> joins = new HashMap<>();
+            query.multiselect(selected.stream()
+                    .<Selection<?>>map(f -> projection.path(root, f, joins))
+                    .toList());
+            Predicate predicate = spec.toPredicate(root, query, builder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+            query.orderBy(QueryUtils.toOrders(page.toSort(), root, builder));
+            return entityManager.createQuery(query).setMaxResults(count).getResultList();
+        });
+        int size = Math.min(rows.size(), page.limit());
+        List<V> items = new ArrayList<>(size);
+        for (Object[] row : rows.subList(0, size)) {
+            items.add(projection.toView(selected, requested, row));
+        }
+        if (rows.size() <= page.limit()) {
+            return new CursorPage<>(items, null);
+        }
+        Object[] last = rows.get(size - 1);
+        return new CursorPage<>(items, page.encodeCursor(last[sortIndex], (UUID) last[idIndex]));
+    }
+
+    // Up to limit + 1 rows after the cursor, reading the segments in order until enough rows are found.
+    private static <T, R> List<R> fetchAfter(CursorPageRequest page, Specification<T> filter,
+            BiFunction<Specification<T>, Integer, List<R>> query) {
+        List<R> rows = new ArrayList<>();
+        for (Specification<T> segment : KeysetPagination.<T>after(page)) {
+            rows.addAll(query.apply(Specification.where(filter).and(segment), page.limit() + 1 - rows.size()));
+            if (rows.size() > page.limit()) {
+                break;
+            }
+        }
+        return rows;
+    }
+
+    // What follows the cursor, as consecutive segments of the sort order. Postgres sorts NULLs last when
+    // ascending and first when descending, so the non-null values are followed by the NULLs ascending, and
+    // the NULLs by the non-null values descending. Each segment is a single index range, which an OR over
+    // both could not be; a later segment is only queried when the earlier one runs out.
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static <T> List<Specification<T>> after(CursorPageRequest page) {
+        CursorPageRequest.Cursor cursor = page.after();
+        if (cursor == null) {
+            return Collections.singletonList(null);
+        }
+        boolean ascending = page.direction() == Sort.Direction.ASC;
+        if (cursor.value() == null) {
+            Specification<T> nulls = (root, query, builder) -> builder.and(
+                    builder.isNull(root.get(page.sortField())),
+                    ascending
+                            ? builder.greaterThan(root.<UUID>get("id"), cursor.id())
+                            : builder.lessThan(root.<UUID>get("id"), cursor.id()));
+            return ascending
+                    ? List.of(nulls)
+                    : List.of(nulls, (root, query, builder) -> builder.isNotNull(root.get(page.sortField())));
+        }
+        Specification<T> values = (root, query, builder) -> {
+            Path<Comparable> sortPath = root.get(page.sortField());
+            Comparable value = parse(cursor.value(), sortPath.getJavaType());
+            Path<UUID> idPath = root.get("id");
+            // The leading range is implied by the OR but, unlike it, can bound an index scan on
+            // (..., sort, id), so the scan starts at the cursor instead of filtering from the first row.
+            if (ascending) {
+                return builder.and(builder.greaterThanOrEqualTo(sortPath, value), builder.or(
+                        builder.greaterThan(sortPath, value),
+                        builder.and(builder.equal(sortPath, value), builder.greaterThan(idPath, cursor.id()))));
+            }
+            return builder.and(builder.lessThanOrEqualTo(sortPath, value), builder.or(
+                    builder.lessThan(sortPath, value),
+                    builder.and(builder.equal(sortPath, value), builder.lessThan(idPath, cursor.id()))));
+        };
+        return ascending
+                ? List.of(values, (root, query, builder) -> builder.isNull(root.get(page.sortField())))
+                : List.of(values);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static Comparable parse(String value, Class<?> type) {
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.parse(value);
+        } else if (type == LocalDate.class) {
+            return LocalDate.parse(value);
+        } else if (type == BigDecimal.class) {
+            return new BigDecimal(value);
+        } else if (type == UUID.class) {
+            return UUID.fromString(value);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,136 @@
+package com.primecrm.core.search;
+
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Named, flat read model over an entity, typed by a record whose components are the fields. Only the
+// requested columns are selected, as scalars, so the rows never enter the persistence context; fields
+// that were not requested are null in the record.
+public final class Projection<T, V extends Record> {
+
+    private final Class<T> entityType;
+    private final Constructor<V> constructor;
+    private final Map<String, Integer> positions = new LinkedHashMap<>();
+    private final Map<String, String> paths = new HashMap<>();
+    private final Set<String> optionalFields = new HashSet<>();
+
+    private Projection(Class<T> entityType, Class<V> viewType) {
+        this.entityType = entityType;
+        RecordComponent[] components = viewType.getRecordComponents();
+        for (int i = 0; i < components.length; i++) {
+            if (components[i].getType().isPrimitive()) {
+                throw new IllegalArgumentException(viewType.getSimpleName() + "." + components[i].getName()
+                        + " must be a reference type, unrequested fields are null");
+            }
+            positions.put(components[i].getName(), i);
+        }
+        if (!positions.containsKey("id")) {
+            throw new IllegalArgumentException(viewType.getSimpleName() + " must have an id component");
+        }
+        try {
+            this.constructor = viewType.getDeclaredConstructor(
+                    Arrays.stream(components).map(RecordComponent::getType).toArray(Class<?>[]::new));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Records always have a canonical constructor", e);
+        }
+    }
+
+    public static <T, V extends Record> Projection<T, V> of(Class<T> entityType, Class<V> viewType) {
+        return new Projection<>(entityType, viewType);
+    }
+
+    // Fields map to the entity attribute of the same name unless given a (possibly dotted) path here.
+    public Projection<T, V> path(String field, String path) {
+        checkField(field);
+        paths.put(field, path);
+        return this;
+    }
+
+    // Selectable through ?fields= but not part of the default list view.
+    public Projection<T, V> optional(String field) {
+        checkField(field);
+        optionalFields.add(field);
+        return this;
+    }
+
+    public Class<T> entityType() {
+        return entityType;
+    }
+
+    public List<String> resolve(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return positions.keySet().stream().filter(field -> !optionalFields.contains(field)).toList();
+        }
+        Set<String> resolved = new LinkedHashSet<>();
+        resolved.add("id");
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!positions.containsKey(name)) {
+                throw new IllegalArgumentException(
+                        "Unknown field '" + name + "', expected one of " + positions.keySet());
+            }
+            resolved.add(name);
+        }
+        return new ArrayList<>(resolved);
+    }
+
+    // For rows read outside KeysetPagination; values are in the order of fields.
+    public V toView(List<String> fields, Object[] values) {
+        return toView(fields, fields.size(), values);
+    }
+
+    // Values arrive in the order of fields; anything past the requested ones, such as an extra sort column,
+    // is left out of the record.
+    V toView(List<String> fields, int requested, Object[] values) {
+        Object[] args = new Object[positions.size()];
+        for (int i = 0; i < requested; i++) {
+            args[positions.get(fields.get(i))] = values[i];
+        }
+        try {
+            return constructor.newInstance(args);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Cannot build " + constructor.getDeclaringClass().getSimpleName(), e);
+        }
+    }
+
+    Path<?> path(Root<T> root, String field, Map<String, From<?, ?>> joins) {
+        return resolve(root, paths.getOrDefault(field, field), joins);
+    }
+
+    private void checkField(String field) {
+        if (!positions.containsKey(field)) {
+            throw new IllegalArgumentException("No field '" + field + "' in " + positions.keySet());
+        }
+    }
+
+    // Dotted paths become LEFT joins, shared through the joins map between fields of one query.
+    static Path<?> resolve(From<?, ?> root, String path, Map<String, From<?, ?>> joins) {
+        String[] segments = path.split("\\.");
+        From<?, ?> from = root;
+        for (int i = 0; i < segments.length - 1; i++) {
+            From<?, ?> parent = from;
+            String segment = segments[i];
+            from = joins.computeIfAbsent(String.join(".", Arrays.copyOf(segments, i + 1)),
+                    key -> parent.join(segment, JoinType.LEFT));
+        }
+        return from.get(segments[segments.length - 1]);
+    }
+}
@@ -8,27 +8,64 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 public class SearchCriteria {
+
+    private static final String OPERATORS = ":<>";
+
     private String key;
     private String operation;
     private Object value;
 
+    // Comma-separated key, operator, value terms in one pass. The operator is the first ':', '<'
+    // or '>' after the key, so values may contain any of them; a literal comma is written '\,'.
+    // Whitespace around keys and values is ignored.
     public static java.util.List<SearchCriteria> parse(String search) {
         java.util.List<SearchCriteria> list = new java.util.ArrayList<>();
-        if (search != null && !search.isEmpty()) {
-            String[] tokens = search.split(",");
-            for (String token : tokens) {
-                if (token.contains(">")) {
-                    String[] parts = token.split(">");
-                    list.add(new SearchCriteria(parts[0], ">", parts[1]));
-                } else if (token.contains("<")) {
-                    String[] parts = token.split("<");
-                    list.add(new SearchCriteria(parts[0], "<", parts[1]));
-                } else if (token.contains(":")) {
-                    String[] parts = token.split(":");
-                    list.add(new SearchCriteria(parts[0], ":", parts[1]));
+        if (search == null || search.isBlank()) {
+            return list;
+        }
+        int length = search.length();
+        int i = 0;
+        while (i < length) {
+            i = skipWhitespace(search, i);
+            if (i == length) {
+                break;
+            }
+            int start = i;
+            while (i < length && isKeyChar(search.charAt(i))) {
+                i++;
+            }
+            String key = search.substring(start, i);
+            i = skipWhitespace(search, i);
+            if (key.isEmpty() || i == length || OPERATORS.indexOf(search.charAt(i)) < 0) {
+                throw new IllegalArgumentException("Malformed search term at position " + start + ": " + search);
+            }
+            String operation = String.valueOf(search.charAt(i++));
+            StringBuilder value = new StringBuilder();
+            while (i < length && search.charAt(i) != ',') {
+                char c = search.charAt(i++);
+                if (c == '\\' && i < length) {
+                    c = search.charAt(i++);
                 }
+                value.append(c);
             }
+            i++;
+            String trimmed = value.toString().strip();
+            if (trimmed.isEmpty()) {
+                throw new IllegalArgumentException("Missing value for search field '" + key + "'");
+            }
+            list.add(new SearchCriteria(key, operation, trimmed));
         }
         return list;
     }
+
+    private static int skipWhitespace(String search, int i) {
+        while (i < search.length() && Character.isWhitespace(search.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isKeyChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
 }
@@ -0,0 +1,175 @@
+package com.primecrm.core.search;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+// Whitelist of the fields a ?search= may filter on, with their Java types taken from the entity.
+// Values are coerced to those types so range filters compare numbers and timestamps, not strings.
+// Criteria lists are compiled once per shape (fields and operators, without values) and the
+// compiled form is reused for every later query of that shape.
+public final class SearchSchema<T> {
+
+    private static final int MAX_CACHED_SHAPES = 256;
+
+    // Timestamps are stored with microsecond precision, LocalTime.MAX would round to the next day.
+    private static final LocalTime END_OF_DAY = LocalTime.of(23, 59, 59, 999_999_000);
+
+    private static final Comparator<SearchCriteria> SHAPE_ORDER = Comparator.comparing(SearchCriteria::getKey)
+            .thenComparing(SearchCriteria::getOperation);
+
+    private record Term(String field, String operation, Function<String, Object> coercer) {
+    }
+
+    private final Class<T> entityType;
+    private final Map<String, Class<?>> fields = new LinkedHashMap<>();
+    private final Map<String, List<Term>> compiled = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, List<Term>> eldest) {
+                    return size() > MAX_CACHED_SHAPES;
+                }
+            });
+
+    private SearchSchema(Class<T> entityType) {
+        this.entityType = entityType;
+    }
+
+    public static <T> SearchSchema<T> of(Class<T> entityType) {
+        return new SearchSchema<>(entityType);
+    }
+
+    public SearchSchema<T> field(String name) {
+        fields.put(name, typeOf(entityType, name));
+        return this;
+    }
+
+    public Specification<T> toSpecification(List<SearchCriteria> criteriaList) {
+        Specification<T> spec = Specification.where(null);
+        for (SearchCriteria criteria : coerce(criteriaList)) {
+            spec = spec.and(new BaseSpecification<>(criteria));
+        }
+        return spec;
+    }
+
+    // Validates the criteria and returns copies whose values have the field's type.
+    public List<SearchCriteria> coerce(List<SearchCriteria> criteriaList) {
+        if (criteriaList.isEmpty()) {
+            return List.of();
+        }
+        List<SearchCriteria> normalized = new ArrayList<>(criteriaList);
+        normalized.sort(SHAPE_ORDER);
+        List<Term> terms = compiled.computeIfAbsent(shape(normalized), shape -> compile(normalized));
+        List<SearchCriteria> typed = new ArrayList<>(terms.size());
+        for (int i = 0; i < terms.size(); i++) {
+            Term term = terms.get(i);
+            String value = String.valueOf(normalized.get(i).getValue());
+            try {
+                typed.add(new SearchCriteria(term.field(), term.operation(), term.coercer().apply(value)));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid value for search field '" + term.field() + "': " + value);
+            }
+        }
+        return typed;
+    }
+
+    private static String shape(List<SearchCriteria> criteriaList) {
+        StringBuilder shape = new StringBuilder();
+        for (SearchCriteria criteria : criteriaList) {
+            shape.append(criteria.getKey()).append(criteria.getOperation()).append('\u0000');
+        }
+        return shape.toString();
+    }
+
+    private List<Term> compile(List<SearchCriteria> criteriaList) {
+        List<Term> terms = new ArrayList<>(criteriaList.size());
+        for (SearchCriteria criteria : criteriaList) {
+            String field = criteria.getKey();
+            String operation = criteria.getOperation();
+            Class<?> type = fields.get(field);
+            if (type == null) {
+                throw new IllegalArgumentException("Unknown search field '" + field + "', expected one of "
+                        + fields.keySet());
+            }
+            boolean range = ">".equals(operation) || "<".equals(operation);
+            if (range && (type.isEnum() || type == UUID.class || type == Boolean.class)) {
+                throw new IllegalArgumentException("Search field '" + field + "' does not support " + operation);
+            }
+            if (!range && type == LocalDateTime.class) {
+                throw new IllegalArgumentException("Search field '" + field + "' only supports > and <");
+            }
+            terms.add(new Term(field, operation, coercer(type, operation)));
+        }
+        return List.copyOf(terms);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Function<String, Object> coercer(Class<?> type, String operation) {
+        if (type == String.class) {
+            return value -> value;
+        } else if (type == BigDecimal.class) {
+            return BigDecimal::new;
+        } else if (type == Long.class) {
+            return Long::valueOf;
+        } else if (type == Integer.class) {
+            return Integer::valueOf;
+        } else if (type == Boolean.class) {
+            return value -> switch (value) {
+                case "true" -> Boolean.TRUE;
+                case "false" -> Boolean.FALSE;
+                default -> throw new IllegalArgumentException(value);
+            };
+        } else if (type == UUID.class) {
+            return UUID::fromString;
+        } else if (type == LocalDate.class) {
+            return LocalDate::parse;
+        } else if (type == LocalDateTime.class) {
+            // A bare date covers the whole day: from its start for '>', to its end for '<'.
+            LocalTime dateOnlyTime = "<".equals(operation) ? END_OF_DAY : LocalTime.MIDNIGHT;
+            return value -> value.length() == 10
+                    ? LocalDate.parse(value).atTime(dateOnlyTime)
+                    : LocalDateTime.parse(value);
+        } else if (type.isEnum()) {
+            return value -> Enum.valueOf((Class<? extends Enum>) type, value.toUpperCase(Locale.ROOT));
+        }
+        throw new IllegalStateException("Unsupported search field type " + type.getName());
+    }
+
+    private static Class<?> typeOf(Class<?> entityType, String name) {
+        for (Class<?> type = entityType; type != null; type = type.getSuperclass()) {
+            try {
+                Field field = type.getDeclaredField(name);
+                Class<?> fieldType = field.getType();
+                return fieldType.isPrimitive() ? boxed(fieldType) : fieldType;
+            } catch (NoSuchFieldException e) {
+                // keep looking in the superclass
+            }
+        }
+        throw new IllegalStateException(entityType.getSimpleName() + " has no field '" + name + "'");
+    }
+
+    private static Class<?> boxed(Class<?> type) {
+        if (type == long.class) {
+            return Long.class;
+        } else if (type == int.class) {
+            return Integer.class;
+        } else if (type == boolean.class) {
+            return Boolean.class;
+        }
+        throw new IllegalStateException("Unsupported search field type " + type.getName());
+    }
+}
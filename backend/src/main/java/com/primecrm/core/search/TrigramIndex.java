@@ -0,0 +1,189 @@
+package com.primecrm.core.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+// Inverted index from (field, trigram) to documents, answering case-insensitive substring
+// queries with the same semantics as BaseSpecification's escaped LIKE '%value%'. Candidates from the
+// posting lists are verified against the stored value, so removed or rewritten documents can
+// never produce false positives. Not thread-safe; callers guard access.
+public final class TrigramIndex {
+
+    private static final int COMPACTION_THRESHOLD = 1024;
+
+    private final List<String> fields;
+    private final Map<UUID, Integer> docIds = new HashMap<>();
+    private final ArrayList<UUID> ids = new ArrayList<>();
+    private final ArrayList<String[]> values = new ArrayList<>();
+    private Map<Long, IntList> postings = new HashMap<>();
+    private int removed;
+
+    public TrigramIndex(String... fields) {
+        this.fields = List.of(fields);
+    }
+
+    public boolean indexes(String field) {
+        return fields.contains(field);
+    }
+
+    public int size() {
+        return docIds.size();
+    }
+
+    // Values are given in the order of the fields passed to the constructor.
+    public void put(UUID id, String... fieldValues) {
+        if (fieldValues.length != fields.size()) {
+            throw new IllegalArgumentException("Expected " + fields.size() + " values, got " + fieldValues.length);
+        }
+        remove(id);
+        String[] normalized = new String[fieldValues.length];
+        for (int i = 0; i < fieldValues.length; i++) {
+            normalized[i] = fieldValues[i] != null ? fieldValues[i].toLowerCase(Locale.ROOT) : null;
+        }
+        int docId = ids.size();
+        ids.add(id);
+        values.add(normalized);
+        docIds.put(id, docId);
+        addPostings(docId, normalized);
+    }
+
+    public void remove(UUID id) {
+        Integer docId = docIds.remove(id);
+        if (docId == null) {
+            return;
+        }
+        ids.set(docId, null);
+        values.set(docId, null);
+        if (++removed > COMPACTION_THRESHOLD && removed > docIds.size()) {
+            compact();
+        }
+    }
+
+    public void clear() {
+        ids.clear();
+        values.clear();
+        docIds.clear();
+        postings = new HashMap<>();
+        removed = 0;
+    }
+
+    // Returns the matching ids, or null when there are more than maxMatches of them and the
+    // caller is better served by the database.
+    public Set<UUID> search(String field, String value, int maxMatches) {
+        int fieldIndex = fields.indexOf(field);
+        if (fieldIndex < 0) {
+            throw new IllegalArgumentException("Field '" + field + "' is not indexed");
+        }
+        String query = value.toLowerCase(Locale.ROOT);
+        Set<UUID> matches = new LinkedHashSet<>();
+        if (query.length() < 3) {
+            for (int docId = 0; docId < values.size(); docId++) {
+                if (matches(docId, fieldIndex, query) && !add(matches, docId, maxMatches)) {
+                    return null;
+                }
+            }
+            return matches;
+        }
+
+        List<IntList> lists = new ArrayList<>();
+        for (int i = 0; i + 3 <= query.length(); i++) {
+            IntList list = postings.get(key(fieldIndex, query, i));
+            if (list == null) {
+                return matches;
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+        IntList smallest = lists.get(0);
+        for (int i = 0; i < smallest.size; i++) {
+            int docId = smallest.values[i];
+            if (containsAll(lists, docId) && matches(docId, fieldIndex, query) && !add(matches, docId, maxMatches)) {
+                return null;
+            }
+        }
+        return matches;
+    }
+
+    private boolean matches(int docId, int fieldIndex, String query) {
+        String[] doc = values.get(docId);
+        return doc != null && doc[fieldIndex] != null && doc[fieldIndex].contains(query);
+    }
+
+    private boolean add(Set<UUID> matches, int docId, int maxMatches) {
+        matches.add(ids.get(docId));
+        return matches.size() <= maxMatches;
+    }
+
+    private static boolean containsAll(List<IntList> lists, int docId) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(docId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void addPostings(int docId, String[] doc) {
+        for (int f = 0; f < doc.length; f++) {
+            String value = doc[f];
+            if (value == null) {
+                continue;
+            }
+            for (int i = 0; i + 3 <= value.length(); i++) {
+                IntList list = postings.computeIfAbsent(key(f, value, i), k -> new IntList());
+                // A trigram repeated within one value is only posted once.
+                if (list.size == 0 || list.values[list.size - 1] != docId) {
+                    list.add(docId);
+                }
+            }
+        }
+    }
+
+    private void compact() {
+        List<UUID> liveIds = new ArrayList<>(docIds.size());
+        List<String[]> liveValues = new ArrayList<>(docIds.size());
+        for (int docId = 0; docId < ids.size(); docId++) {
+            if (ids.get(docId) != null) {
+                liveIds.add(ids.get(docId));
+                liveValues.add(values.get(docId));
+            }
+        }
+        clear();
+        for (int i = 0; i < liveIds.size(); i++) {
+            ids.add(liveIds.get(i));
+            values.add(liveValues.get(i));
+            docIds.put(liveIds.get(i), i);
+            addPostings(i, liveValues.get(i));
+        }
+    }
+
+    private static long key(int field, String value, int offset) {
+        return ((long) field << 48) | ((long) value.charAt(offset) << 32) | ((long) value.charAt(offset + 1) << 16)
+                | value.charAt(offset + 2);
+    }
+
+    // Doc ids are appended in increasing order, so every list is sorted.
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        boolean contains(int value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+    }
+}
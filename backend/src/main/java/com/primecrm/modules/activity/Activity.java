@@ -13,6 +13,7 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
+// Schema and indexes are managed by Flyway, see db/migration/V1__activity_indexes.sql
 @Table(name = "activities")
 @Getter
 @Setter
@@ -1,11 +1,21 @@
 package com.primecrm.modules.activity;
 
+import com.primecrm.core.protobuf.PrimeCrmProto;
+import com.primecrm.core.protobuf.ProtoValues;
+import com.primecrm.core.search.CursorPageRequest;
+import com.primecrm.core.export.ExportColumn;
+import com.primecrm.core.export.ExportFormat;
+import com.primecrm.core.export.StreamingExporter;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -13,11 +23,56 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class ActivityController {
 
+    private static final List<ExportColumn<Activity>> EXPORT_COLUMNS = List.of(
+            ExportColumn.of("id", Activity::getId),
+            ExportColumn.of("type", Activity::getType),
+            ExportColumn.of("subject", Activity::getSubject),
+            ExportColumn.of("description", Activity::getDescription),
+            ExportColumn.of("dueDate", Activity::getDueDate),
+            ExportColumn.of("completed", Activity::isCompleted),
+            ExportColumn.of("contactId", Activity::getContactId),
+            ExportColumn.of("dealId", Activity::getDealId),
+            ExportColumn.of("ownerId", Activity::getOwnerId),
+            ExportColumn.of("createdAt", Activity::getCreatedAt),
+            ExportColumn.of("updatedAt", Activity::getUpdatedAt));
+
     private final ActivityService activityService;
+    private final ActivityIngestService ingestService;
+    private final StreamingExporter exporter;
 
     @GetMapping
-    public ResponseEntity<List<Activity>> getAll() {
-        return ResponseEntity.ok(activityService.getAllActivities());
+    public ResponseEntity<List<ActivityListItem>> getAll(
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields) {
+        CursorPageRequest page = CursorPageRequest.of(sort, cursor, limit, Set.of());
+        return activityService.getActivities(page, fields).toResponseEntity();
+    }
+
+    @GetMapping(produces = ProtoValues.MEDIA_TYPE)
+    public ResponseEntity<PrimeCrmProto.ActivityList> getAllProtobuf(
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields) {
+        CursorPageRequest page = CursorPageRequest.of(sort, cursor, limit, Set.of());
+        return activityService.getActivities(page, fields).toResponseEntity(ActivityProtos::list);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportActivities(
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return exporter.export("activities", ExportFormat.parse(format), StreamingExporter.acceptsGzip(acceptEncoding),
+                EXPORT_COLUMNS, activityService::streamAllActivities);
+    }
+
+    @GetMapping("/upcoming")
+    public ResponseEntity<Map<String, Long>> countUpcoming(
+            @RequestParam(required = false) UUID ownerId,
+            @RequestParam(defaultValue = "7") int days) {
+        return ResponseEntity.ok(Map.of("count", activityService.countUpcomingTasks(ownerId, days)));
     }
 
     @GetMapping("/deal/{dealId}")
@@ -35,6 +90,18 @@ public class ActivityController {
         return ResponseEntity.ok(activityService.createActivity(activity));
     }
 
+    // For integrations posting at high rates: accepted once journaled, visible after the next flush.
+    @PostMapping("/ingest")
+    public ResponseEntity<Map<String, Integer>> ingest(@RequestBody List<Activity> activities) {
+        return ResponseEntity.accepted().body(Map.of("accepted", ingestService.ingest(activities)));
+    }
+
+    @PostMapping(path = "/ingest", consumes = ProtoValues.MEDIA_TYPE)
+    public ResponseEntity<Map<String, Integer>> ingestProtobuf(@RequestBody PrimeCrmProto.ActivityList list) {
+        List<Activity> activities = list.getItemsList().stream().map(ActivityProtos::toEntity).toList();
+        return ResponseEntity.accepted().body(Map.of("accepted", ingestService.ingest(activities)));
+    }
+
     @PatchMapping("/{id}/complete")
     public ResponseEntity<Activity> complete(@PathVariable UUID id) {
         return ResponseEntity.ok(activityService.completeActivity(id));
@@ -0,0 +1,22 @@
+package com.primecrm.modules.activity;
+
+public final class ActivityEvents {
+
+    private ActivityEvents() {
+    }
+
+    public record ActivityCreated(Activity activity) {
+    }
+
+    public record ActivityCompleted(Activity activity) {
+    }
+
+    // Published once per flushed batch by ActivityIngestService, inside the transaction that inserted them.
+    public record ActivitiesIngested(java.util.List<Activity> activities) {
+    }
+
+    // Published by ActivityReminders outside any transaction when an open activity reaches its due date.
+    public record ActivityDue(java.util.UUID activityId, Activity.ActivityType type, java.util.UUID ownerId,
+            java.time.LocalDateTime dueDate) {
+    }
+}
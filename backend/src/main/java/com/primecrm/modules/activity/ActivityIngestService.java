@@ -0,0 +1,196 @@
+package com.primecrm.modules.activity;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.primecrm.core.journal.MappedJournal;
+import com.primecrm.core.protobuf.PrimeCrmProto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// High-rate activity ingest. Requests are acknowledged once their activities are durable in a local
+// memory-mapped journal; a background flusher drains the journal into Postgres in large JDBC batches,
+// so ingest keeps accepting while the database is slow or briefly down. Each batch is checkpointed
+// after its transaction commits. Rows are inserted with ON CONFLICT DO NOTHING, so a batch retried
+// after a crash, an ambiguous commit or a failed checkpoint only publishes the rows it inserted.
+// The flusher has its own thread, so a long drain never holds up the shared @Scheduled tasks.
+@Slf4j
+@Service
+public class ActivityIngestService {
+
+    // One statement per batch: the columns are bound as arrays and unnested into rows.
+    private static final String INSERT_SQL = "INSERT INTO activities "
+            + "(id, subject, description, type, due_date, completed, contact_id, deal_id, owner_id, created_at, "
+            + "updated_at) SELECT * FROM unnest(?::uuid[], ?::varchar[], ?::varchar[], ?::varchar[], "
+            + "?::timestamp[], ?::boolean[], ?::uuid[], ?::uuid[], ?::uuid[], ?::timestamp[], ?::timestamp[]) "
+            + "ON CONFLICT (id) DO NOTHING RETURNING id";
+
+    private final MappedJournal journal;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ActivityReminders reminders;
+    private final int batchSize;
+    private final long flushIntervalMs;
+
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("activity-ingest-flush").daemon().factory());
+
+    public ActivityIngestService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher, ActivityReminders reminders,
+            @Value("${activity.ingest.journal-dir:data/journal/activities}") Path journalDir,
+            @Value("${activity.ingest.segment-size:64MB}") DataSize segmentSize,
+            @Value("${activity.ingest.max-segments:64}") int maxSegments,
+            @Value("${activity.ingest.batch-size:5000}") int batchSize,
+            @Value("${activity.ingest.flush-interval-ms:100}") long flushIntervalMs) {
+        this.journal = MappedJournal.open(journalDir, Math.toIntExact(segmentSize.toBytes()), maxSegments);
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.reminders = reminders;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void startFlushing() {
+        flusher.scheduleWithFixedDelay(() -> {
+            // An escaping exception would cancel the schedule
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                log.error("Activity ingest flush failed", e);
+            }
+        }, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    // Lets the batch in flight commit and checkpoint; anything left stays journaled for the next start.
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        flusher.shutdown();
+        if (!flusher.awaitTermination(10, TimeUnit.SECONDS)) {
+            flusher.shutdownNow();
+        }
+    }
+
+    // Ids and timestamps are assigned here and journaled with the row, so a replay inserts the same activity.
+    public int ingest(List<Activity> activities) {
+        LocalDateTime now = LocalDateTime.now();
+        List<byte[]> records = new ArrayList<>(activities.size());
+        for (Activity activity : activities) {
+            validate(activity);
+            activity.setId(UUID.randomUUID());
+            activity.setCreatedAt(now);
+            activity.setUpdatedAt(now);
+            records.add(ActivityProtos.fromEntity(activity).toByteArray());
+        }
+        journal.append(records);
+        return records.size();
+    }
+
+    public void flush() {
+        MappedJournal.Batch batch;
+        do {
+            batch = journal.read(batchSize);
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                write(batch);
+            } catch (RuntimeException e) {
+                log.warn("Activity ingest flush failed, {} journaled activities will be retried",
+                        batch.records().size(), e);
+                return;
+            }
+            journal.commit(batch.end());
+        } while (batch.records().size() == batchSize);
+    }
+
+    private void write(MappedJournal.Batch batch) {
+        List<Activity> activities = new ArrayList<>(batch.records().size());
+        for (byte[] record : batch.records()) {
+            try {
+                activities.add(ActivityProtos.toEntity(PrimeCrmProto.Activity.parseFrom(record)));
+            } catch (InvalidProtocolBufferException e) {
+                // The journal checksums every record, so this is a bug rather than corruption
+                throw new IllegalStateException("Unreadable activity in ingest journal", e);
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<UUID> inserted = insert(activities);
+            List<Activity> fresh = activities.stream().filter(activity -> inserted.contains(activity.getId())).toList();
+            fresh.forEach(reminders::schedule);
+            eventPublisher.publishEvent(new ActivityEvents.ActivitiesIngested(fresh));
+        });
+    }
+
+    // Returns the ids that were inserted; ids already in the table are skipped.
+    private Set<UUID> insert(List<Activity> activities) {
+        Set<UUID> inserted = new HashSet<>();
+        if (activities.isEmpty()) {
+            return inserted;
+        }
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(INSERT_SQL);
+            statement.setArray(1, array(connection, "uuid", activities, Activity::getId));
+            statement.setArray(2, array(connection, "varchar", activities, Activity::getSubject));
+            statement.setArray(3, array(connection, "varchar", activities, Activity::getDescription));
+            statement.setArray(4, array(connection, "varchar", activities, a -> a.getType().name()));
+            statement.setArray(5, array(connection, "timestamp", activities,
+                    a -> a.getDueDate() != null ? Timestamp.valueOf(a.getDueDate()) : null));
+            statement.setArray(6, array(connection, "bool", activities, Activity::isCompleted));
+            statement.setArray(7, array(connection, "uuid", activities, Activity::getContactId));
+            statement.setArray(8, array(connection, "uuid", activities, Activity::getDealId));
+            statement.setArray(9, array(connection, "uuid", activities, Activity::getOwnerId));
+            statement.setArray(10, array(connection, "timestamp", activities,
+                    a -> Timestamp.valueOf(a.getCreatedAt())));
+            statement.setArray(11, array(connection, "timestamp", activities,
+                    a -> Timestamp.valueOf(a.getUpdatedAt())));
+            return statement;
+        }, rs -> {
+            inserted.add(rs.getObject(1, UUID.class));
+        });
+        return inserted;
+    }
+
+    private static Array array(Connection connection, String type, List<Activity> activities,
+            Function<Activity, Object> column) throws SQLException {
+        return connection.createArrayOf(type, activities.stream().map(column).toArray());
+    }
+
+    private void validate(Activity activity) {
+        if (activity.getSubject() == null || activity.getSubject().isBlank()) {
+            throw new IllegalArgumentException("subject is required");
+        }
+        if (activity.getType() == null) {
+            throw new IllegalArgumentException("type is required");
+        }
+        if (activity.getSubject().length() > 255
+                || activity.getDescription() != null && activity.getDescription().length() > 255) {
+            throw new IllegalArgumentException("subject and description are limited to 255 characters");
+        }
+    }
+}
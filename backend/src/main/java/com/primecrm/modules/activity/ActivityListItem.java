@@ -0,0 +1,22 @@
+package com.primecrm.modules.activity;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Row of the activities list and timelines; fields left out through ?fields= are null and omitted from the JSON.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ActivityListItem(
+        UUID id,
+        String subject,
+        String description,
+        Activity.ActivityType type,
+        LocalDateTime dueDate,
+        Boolean completed,
+        UUID contactId,
+        UUID dealId,
+        UUID ownerId,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
@@ -0,0 +1,123 @@
+package com.primecrm.modules.activity;
+
+import com.primecrm.core.protobuf.PrimeCrmProto;
+import com.primecrm.core.protobuf.ProtoValues;
+import com.primecrm.core.search.CursorPage;
+
+final class ActivityProtos {
+
+    private ActivityProtos() {
+    }
+
+    static PrimeCrmProto.ActivityList list(CursorPage<ActivityListItem> page) {
+        PrimeCrmProto.ActivityList.Builder list = PrimeCrmProto.ActivityList.newBuilder();
+        page.items().forEach(item -> list.addItems(fromView(item)));
+        if (page.nextCursor() != null) {
+            list.setNextCursor(page.nextCursor());
+        }
+        return list.build();
+    }
+
+    static PrimeCrmProto.Activity fromView(ActivityListItem item) {
+        PrimeCrmProto.Activity.Builder activity = PrimeCrmProto.Activity.newBuilder()
+                .setId(ProtoValues.uuid(item.id()));
+        if (item.subject() != null) {
+            activity.setSubject(item.subject());
+        }
+        if (item.description() != null) {
+            activity.setDescription(item.description());
+        }
+        if (item.type() != null) {
+            activity.setType(type(item.type()));
+        }
+        if (item.dueDate() != null) {
+            activity.setDueDate(ProtoValues.timestamp(item.dueDate()));
+        }
+        if (item.completed() != null) {
+            activity.setCompleted(item.completed());
+        }
+        if (item.contactId() != null) {
+            activity.setContactId(ProtoValues.uuid(item.contactId()));
+        }
+        if (item.dealId() != null) {
+            activity.setDealId(ProtoValues.uuid(item.dealId()));
+        }
+        if (item.ownerId() != null) {
+            activity.setOwnerId(ProtoValues.uuid(item.ownerId()));
+        }
+        if (item.createdAt() != null) {
+            activity.setCreatedAt(ProtoValues.timestamp(item.createdAt()));
+        }
+        if (item.updatedAt() != null) {
+            activity.setUpdatedAt(ProtoValues.timestamp(item.updatedAt()));
+        }
+        return activity.build();
+    }
+
+    static PrimeCrmProto.Activity fromEntity(Activity activity) {
+        PrimeCrmProto.Activity.Builder proto = PrimeCrmProto.Activity.newBuilder()
+                .setId(ProtoValues.uuid(activity.getId()))
+                .setType(type(activity.getType()))
+                .setCompleted(activity.isCompleted());
+        if (activity.getSubject() != null) {
+            proto.setSubject(activity.getSubject());
+        }
+        if (activity.getDescription() != null) {
+            proto.setDescription(activity.getDescription());
+        }
+        if (activity.getDueDate() != null) {
+            proto.setDueDate(ProtoValues.timestamp(activity.getDueDate()));
+        }
+        if (activity.getContactId() != null) {
+            proto.setContactId(ProtoValues.uuid(activity.getContactId()));
+        }
+        if (activity.getDealId() != null) {
+            proto.setDealId(ProtoValues.uuid(activity.getDealId()));
+        }
+        if (activity.getOwnerId() != null) {
+            proto.setOwnerId(ProtoValues.uuid(activity.getOwnerId()));
+        }
+        if (activity.getCreatedAt() != null) {
+            proto.setCreatedAt(ProtoValues.timestamp(activity.getCreatedAt()));
+        }
+        if (activity.getUpdatedAt() != null) {
+            proto.setUpdatedAt(ProtoValues.timestamp(activity.getUpdatedAt()));
+        }
+        return proto.build();
+    }
+
+    static Activity toEntity(PrimeCrmProto.Activity proto) {
+        Activity activity = Activity.builder()
+                .subject(proto.hasSubject() ? proto.getSubject() : null)
+                .description(proto.hasDescription() ? proto.getDescription() : null)
+                .type(type(proto.getType()))
+                .dueDate(proto.hasDueDate() ? ProtoValues.localDateTime(proto.getDueDate()) : null)
+                .completed(proto.getCompleted())
+                .contactId(proto.hasContactId() ? ProtoValues.uuid(proto.getContactId()) : null)
+                .dealId(proto.hasDealId() ? ProtoValues.uuid(proto.getDealId()) : null)
+                .ownerId(proto.hasOwnerId() ? ProtoValues.uuid(proto.getOwnerId()) : null)
+                .build();
+        if (!proto.getId().isEmpty()) {
+            activity.setId(ProtoValues.uuid(proto.getId()));
+        }
+        if (proto.hasCreatedAt()) {
+            activity.setCreatedAt(ProtoValues.localDateTime(proto.getCreatedAt()));
+        }
+        if (proto.hasUpdatedAt()) {
+            activity.setUpdatedAt(ProtoValues.localDateTime(proto.getUpdatedAt()));
+        }
+        return activity;
+    }
+
+    private static PrimeCrmProto.ActivityType type(Activity.ActivityType type) {
+        return PrimeCrmProto.ActivityType.valueOf("ACTIVITY_TYPE_" + type.name());
+    }
+
+    private static Activity.ActivityType type(PrimeCrmProto.ActivityType type) {
+        if (type == PrimeCrmProto.ActivityType.ACTIVITY_TYPE_UNSPECIFIED
+                || type == PrimeCrmProto.ActivityType.UNRECOGNIZED) {
+            return null;
+        }
+        return Activity.ActivityType.valueOf(type.name().substring("ACTIVITY_TYPE_".length()));
+    }
+}
@@ -0,0 +1,123 @@
+package com.primecrm.modules.activity;
+
+import com.primecrm.core.RebuildableView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+// Keeps every open activity with a future due date in a ReminderWheel, publishes ActivityDue when one
+// falls due, and answers upcoming-task counts from memory. Loaded from the database once the application
+// is ready; ActivityService feeds it creates and completions after they commit.
+@Slf4j
+@Component
+public class ActivityReminders {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private final RebuildableView<ReminderWheel> wheel = new RebuildableView<>(new ReminderWheel(nowSecond()));
+
+    public ActivityReminders(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        ReminderWheel fresh;
+        try {
+            fresh = wheel.rebuild(() -> readOnlyTransaction.execute(status -> {
+                ReminderWheel loaded = new ReminderWheel(nowSecond());
+                load(loaded);
+                return loaded;
+            }));
+        } catch (RuntimeException e) {
+            log.error("Reminder load failed, only activities created from now on will be reminded", e);
+            return;
+        }
+        // Reminders that fell due during the load fire now rather than on the next tick.
+        tick();
+        log.info("Reminders loaded in {} ms: {} pending", (System.nanoTime() - started) / 1_000_000, fresh.size());
+    }
+
+    @Scheduled(fixedDelayString = "${activity.reminders.tick-interval-ms:1000}")
+    public void tick() {
+        wheel.update(current -> current.advance(nowSecond())).forEach(this::publish);
+    }
+
+    public void clear() {
+        wheel.afterCommit(ReminderWheel::clear);
+    }
+
+    void schedule(Activity activity) {
+        if (activity.isCompleted() || activity.getDueDate() == null) {
+            return;
+        }
+        ReminderWheel.Reminder reminder = toReminder(activity.getId(), activity.getType(), activity.getOwnerId(),
+                activity.getDueDate());
+        wheel.afterCommit(current -> current.schedule(reminder));
+    }
+
+    void cancel(UUID activityId) {
+        wheel.afterCommit(current -> current.cancel(activityId));
+    }
+
+    // Open tasks not yet due whose due date falls on one of the `days` calendar days starting today.
+    long countUpcomingTasks(UUID ownerId, int days) {
+        long today = LocalDate.now(zone).toEpochDay();
+        return wheel.read(current -> current.countTasks(ownerId, today, today + days));
+    }
+
+    private void load(ReminderWheel fresh) {
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(
+                    "SELECT id, type, owner_id, due_date FROM activities WHERE completed = false AND due_date > ?");
+            statement.setFetchSize(FETCH_SIZE);
+            statement.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now(zone)));
+            return statement;
+        }, rs -> {
+            fresh.schedule(toReminder(rs.getObject(1, UUID.class), Activity.ActivityType.valueOf(rs.getString(2)),
+                    rs.getObject(3, UUID.class), rs.getTimestamp(4).toLocalDateTime()));
+        });
+    }
+
+    private ReminderWheel.Reminder toReminder(UUID id, Activity.ActivityType type, UUID ownerId,
+            LocalDateTime dueDate) {
+        return new ReminderWheel.Reminder(id, type, ownerId, dueDate.atZone(zone).toEpochSecond(),
+                dueDate.toLocalDate().toEpochDay());
+    }
+
+    private void publish(ReminderWheel.Reminder reminder) {
+        LocalDateTime dueDate = LocalDateTime.ofInstant(Instant.ofEpochSecond(reminder.dueSecond()), zone);
+        eventPublisher.publishEvent(
+                new ActivityEvents.ActivityDue(reminder.activityId(), reminder.type(), reminder.ownerId(), dueDate));
+    }
+
+    private static long nowSecond() {
+        return System.currentTimeMillis() / 1000;
+    }
+}
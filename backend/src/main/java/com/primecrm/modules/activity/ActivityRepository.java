@@ -4,14 +4,16 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import java.util.List;
 import java.util.UUID;
 
-public interface ActivityRepository extends JpaRepository<Activity, UUID> {
+public interface ActivityRepository extends JpaRepository<Activity, UUID>,
+        org.springframework.data.jpa.repository.JpaSpecificationExecutor<Activity> {
     List<Activity> findByContactId(UUID contactId);
 
     List<Activity> findByDealId(UUID dealId);
 
-    List<Activity> findByOwnerId(UUID ownerId);
-
-    @org.springframework.data.jpa.repository.Query(value = "SELECT TO_CHAR(created_at, 'YYYY-MM-DD'), COUNT(*) FROM activities WHERE created_at >= :startDate GROUP BY TO_CHAR(created_at, 'YYYY-MM-DD') ORDER BY TO_CHAR(created_at, 'YYYY-MM-DD')", nativeQuery = true)
-    List<Object[]> countByDate(
-            @org.springframework.data.repository.query.Param("startDate") java.time.LocalDateTime startDate);
+    @org.springframework.data.jpa.repository.Query("SELECT a FROM Activity a")
+    @org.springframework.data.jpa.repository.QueryHints({
+            @jakarta.persistence.QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = com.primecrm.core.export.StreamingExporter.FETCH_SIZE),
+            @jakarta.persistence.QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_READ_ONLY, value = "true"),
+            @jakarta.persistence.QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_CACHE_MODE, value = "IGNORE") })
+    java.util.stream.Stream<Activity> streamAll();
 }
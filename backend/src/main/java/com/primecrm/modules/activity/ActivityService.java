@@ -1,6 +1,12 @@
 package com.primecrm.modules.activity;
 
+import com.primecrm.core.search.CursorPage;
+import com.primecrm.core.search.CursorPageRequest;
+import com.primecrm.core.search.KeysetPagination;
+import com.primecrm.core.search.Projection;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -11,7 +17,16 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class ActivityService {
 
+    public static final int MAX_UPCOMING_DAYS = 366;
+
+    public static final Projection<Activity, ActivityListItem> LIST_VIEW = Projection
+            .of(Activity.class, ActivityListItem.class)
+            .optional("updatedAt");
+
     private final ActivityRepository activityRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final ActivityReminders reminders;
 
     public List<Activity> getActivitiesByDeal(UUID dealId) {
         return activityRepository.findByDealId(dealId);
@@ -21,20 +36,43 @@ public class ActivityService {
         return activityRepository.findByContactId(contactId);
     }
 
-    public List<Activity> getAllActivities() {
-        return activityRepository.findAll();
+    public CursorPage<ActivityListItem> getActivities(CursorPageRequest page, String fields) {
+        return KeysetPagination.fetch(entityManager, LIST_VIEW, null, page, fields);
+    }
+
+    // Must be consumed inside a transaction, see StreamingExporter
+    public java.util.stream.Stream<Activity> streamAllActivities() {
+        return activityRepository.streamAll();
     }
 
     @Transactional
     public Activity createActivity(@lombok.NonNull Activity activity) {
-        return activityRepository.save(activity);
+        Activity saved = activityRepository.save(activity);
+        // Registered before the event so listeners reading upcoming counts after commit see the new reminder
+        reminders.schedule(saved);
+        eventPublisher.publishEvent(new ActivityEvents.ActivityCreated(saved));
+        return saved;
     }
 
     @Transactional
     public Activity completeActivity(@lombok.NonNull UUID id) {
         Activity activity = activityRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Activity not found"));
+        if (activity.isCompleted()) {
+            return activity;
+        }
         activity.setCompleted(true);
-        return activityRepository.save(activity);
+        Activity saved = activityRepository.save(activity);
+        reminders.cancel(id);
+        eventPublisher.publishEvent(new ActivityEvents.ActivityCompleted(saved));
+        return saved;
+    }
+
+    // Answered from the reminder wheel, so it is cheap enough for dashboards to call on every update.
+    public long countUpcomingTasks(UUID ownerId, int days) {
+        if (days < 1 || days > MAX_UPCOMING_DAYS) {
+            throw new IllegalArgumentException("days must be between 1 and " + MAX_UPCOMING_DAYS);
+        }
+        return reminders.countUpcomingTasks(ownerId, days);
     }
 }
@@ -0,0 +1,199 @@
+package com.primecrm.modules.activity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+// Hierarchical timing wheel of pending reminders at one-second resolution. Five levels of 64 slots cover
+// 2^30 seconds (~34 years); anything later parks in the top level and is re-filed each time that slot
+// cascades. Reminders are linked into their slot, so schedule and cancel are O(1) and advancing costs one
+// step per elapsed second plus the reminders that cascade or fire. Open tasks are also counted per owner
+// and due day, which answers "due in the next N days" without walking the wheel.
+// Not thread-safe, ActivityReminders serialises access.
+final class ReminderWheel {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 5;
+    private static final long MAX_DELAY = (1L << (BITS * LEVELS)) - 1;
+
+    record Reminder(UUID activityId, Activity.ActivityType type, UUID ownerId, long dueSecond, long dueDay) {
+
+        boolean isTask() {
+            return type == Activity.ActivityType.TASK;
+        }
+    }
+
+    private static final class Node {
+        final Reminder reminder;
+        Node prev;
+        Node next;
+        int level;
+        int slot;
+
+        Node(Reminder reminder) {
+            this.reminder = reminder;
+        }
+    }
+
+    private final Node[][] wheel = new Node[LEVELS][SLOTS];
+    private final Map<UUID, Node> nodes = new HashMap<>();
+    private final NavigableMap<Long, Integer> tasksByDay = new TreeMap<>();
+    private final Map<UUID, NavigableMap<Long, Integer>> tasksByOwnerAndDay = new HashMap<>();
+
+    // The next second to fire; everything filed is due at or after it.
+    private long current;
+
+    ReminderWheel(long nowSecond) {
+        this.current = nowSecond;
+    }
+
+    int size() {
+        return nodes.size();
+    }
+
+    // Replaces any reminder for the same activity. False when it is already due and was not filed.
+    boolean schedule(Reminder reminder) {
+        cancel(reminder.activityId());
+        if (reminder.dueSecond() < current) {
+            return false;
+        }
+        Node node = new Node(reminder);
+        nodes.put(reminder.activityId(), node);
+        file(node);
+        if (reminder.isTask()) {
+            count(reminder, 1);
+        }
+        return true;
+    }
+
+    boolean cancel(UUID activityId) {
+        Node node = nodes.remove(activityId);
+        if (node == null) {
+            return false;
+        }
+        unlink(node);
+        if (node.reminder.isTask()) {
+            count(node.reminder, -1);
+        }
+        return true;
+    }
+
+    void clear() {
+        for (Node[] level : wheel) {
+            Arrays.fill(level, null);
+        }
+        nodes.clear();
+        tasksByDay.clear();
+        tasksByOwnerAndDay.clear();
+    }
+
+    // Fires everything due up to and including nowSecond, in due order.
+    List<Reminder> advance(long nowSecond) {
+        List<Reminder> fired = new ArrayList<>();
+        if (nodes.isEmpty()) {
+            current = Math.max(current, nowSecond + 1);
+            return fired;
+        }
+        while (current <= nowSecond) {
+            int index = (int) (current & MASK);
+            if (index == 0) {
+                for (int level = 1; level < LEVELS; level++) {
+                    int slot = (int) (current >>> (BITS * level)) & MASK;
+                    cascade(level, slot);
+                    if (slot != 0) {
+                        break;
+                    }
+                }
+            }
+            for (Node node = detach(0, index); node != null; node = node.next) {
+                nodes.remove(node.reminder.activityId());
+                if (node.reminder.isTask()) {
+                    count(node.reminder, -1);
+                }
+                fired.add(node.reminder);
+            }
+            current++;
+        }
+        return fired;
+    }
+
+    // Open tasks due on days [fromDay, toDay), for one owner or for everyone when ownerId is null.
+    long countTasks(UUID ownerId, long fromDay, long toDay) {
+        NavigableMap<Long, Integer> byDay = ownerId == null ? tasksByDay : tasksByOwnerAndDay.get(ownerId);
+        if (byDay == null || fromDay >= toDay) {
+            return 0;
+        }
+        long total = 0;
+        for (int count : byDay.subMap(fromDay, true, toDay, false).values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    private void file(Node node) {
+        long due = Math.min(node.reminder.dueSecond(), current + MAX_DELAY);
+        long delay = due - current;
+        int level = 0;
+        while (level < LEVELS - 1 && delay >= 1L << (BITS * (level + 1))) {
+            level++;
+        }
+        int slot = (int) (due >>> (BITS * level)) & MASK;
+        node.level = level;
+        node.slot = slot;
+        node.prev = null;
+        node.next = wheel[level][slot];
+        if (node.next != null) {
+            node.next.prev = node;
+        }
+        wheel[level][slot] = node;
+    }
+
+    private void unlink(Node node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            wheel[node.level][node.slot] = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+    }
+
+    private Node detach(int level, int slot) {
+        Node head = wheel[level][slot];
+        wheel[level][slot] = null;
+        return head;
+    }
+
+    private void cascade(int level, int slot) {
+        Node node = detach(level, slot);
+        while (node != null) {
+            Node next = node.next;
+            file(node);
+            node = next;
+        }
+    }
+
+    private void count(Reminder reminder, int delta) {
+        adjust(tasksByDay, reminder.dueDay(), delta);
+        if (reminder.ownerId() != null) {
+            NavigableMap<Long, Integer> byDay = tasksByOwnerAndDay.computeIfAbsent(reminder.ownerId(),
+                    owner -> new TreeMap<>());
+            adjust(byDay, reminder.dueDay(), delta);
+            if (byDay.isEmpty()) {
+                tasksByOwnerAndDay.remove(reminder.ownerId());
+            }
+        }
+    }
+
+    private static void adjust(NavigableMap<Long, Integer> byDay, long day, int delta) {
+        byDay.merge(day, delta, (a, b) -> a + b == 0 ? null : a + b);
+    }
+}
@@ -1,10 +1,14 @@
 package com.primecrm.modules.activity;
 
+import com.primecrm.core.protobuf.PrimeCrmProto;
+import com.primecrm.core.protobuf.ProtoValues;
+import com.primecrm.core.search.CursorPageRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -15,9 +19,24 @@ public class TimelineController {
     private final TimelineService timelineService;
 
     @GetMapping("/{entityType}/{entityId}")
-    public ResponseEntity<List<Activity>> getTimeline(
+    public ResponseEntity<List<ActivityListItem>> getTimeline(
             @PathVariable String entityType,
-            @PathVariable UUID entityId) {
-        return ResponseEntity.ok(timelineService.getTimeline(entityType, entityId));
+            @PathVariable UUID entityId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields) {
+        CursorPageRequest page = CursorPageRequest.of(null, cursor, limit, Set.of());
+        return timelineService.getTimeline(entityType, entityId, page, fields).toResponseEntity();
+    }
+
+    @GetMapping(path = "/{entityType}/{entityId}", produces = ProtoValues.MEDIA_TYPE)
+    public ResponseEntity<PrimeCrmProto.ActivityList> getTimelineProtobuf(
+            @PathVariable String entityType,
+            @PathVariable UUID entityId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields) {
+        CursorPageRequest page = CursorPageRequest.of(null, cursor, limit, Set.of());
+        return timelineService.getTimeline(entityType, entityId, page, fields).toResponseEntity(ActivityProtos::list);
     }
 }
@@ -0,0 +1,57 @@
+package com.primecrm.modules.activity;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+// Lazy k-way merge of timeline sources that are each already sorted newest first. Only the head row of every
+// source is held in the heap, so a page costs O(limit log k) and never pulls more rows than it emits.
+final class TimelineMerge {
+
+    // Must match the SQL order (created_at DESC, id DESC); Postgres compares uuids as unsigned bytes.
+    static final Comparator<ActivityListItem> NEWEST_FIRST = Comparator
+            .comparing(ActivityListItem::createdAt)
+            .thenComparing(ActivityListItem::id, TimelineMerge::compareUnsigned)
+            .reversed();
+
+    private TimelineMerge() {
+    }
+
+    // An activity linked to both a contact and one of its deals arrives from two sources; equal rows are
+    // adjacent in the merged order, so duplicates are dropped by comparing with the last emitted id.
+    static List<ActivityListItem> merge(List<? extends Iterator<ActivityListItem>> sources, int count) {
+        PriorityQueue<Head> heap = new PriorityQueue<>(Math.max(1, sources.size()),
+                Comparator.comparing(Head::row, NEWEST_FIRST));
+        for (Iterator<ActivityListItem> source : sources) {
+            if (source.hasNext()) {
+                heap.add(new Head(source.next(), source));
+            }
+        }
+
+        List<ActivityListItem> merged = new ArrayList<>(count);
+        UUID lastId = null;
+        while (merged.size() < count && !heap.isEmpty()) {
+            Head head = heap.poll();
+            UUID id = head.row().id();
+            if (!id.equals(lastId)) {
+                merged.add(head.row());
+                lastId = id;
+            }
+            if (merged.size() < count && head.source().hasNext()) {
+                heap.add(new Head(head.source().next(), head.source()));
+            }
+        }
+        return merged;
+    }
+
+    private static int compareUnsigned(UUID a, UUID b) {
+        int cmp = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return cmp != 0 ? cmp : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    private record Head(ActivityListItem row, Iterator<ActivityListItem> source) {
+    }
+}
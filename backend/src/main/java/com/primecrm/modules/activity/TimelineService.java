@@ -1,40 +1,98 @@
 package com.primecrm.modules.activity;
 
+import com.primecrm.core.search.CursorPage;
+import com.primecrm.core.search.CursorPageRequest;
+import com.primecrm.core.search.KeysetPagination;
+import com.primecrm.modules.crm.CompanyService;
+import com.primecrm.modules.sales.DealService;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class TimelineService {
 
-    private final ActivityRepository activityRepository;
+    // Ids per merge source; each source queries every id of its batch in one LATERAL statement.
+    private static final int SOURCE_BATCH_SIZE = 100;
+
+    public enum EntityType {
+        CONTACT("contactId"), DEAL("dealId"), COMPANY(null);
 
-    public List<Activity> getTimeline(String entityType, UUID entityId) {
-        List<Activity> activities = new ArrayList<>();
+        private final String attribute;
 
-        if (entityType.equalsIgnoreCase("contact")) {
-            activities = activityRepository.findByContactId(entityId);
-        } else if (entityType.equalsIgnoreCase("deal")) {
-            activities = activityRepository.findByDealId(entityId);
+        EntityType(String attribute) {
+            this.attribute = attribute;
         }
-        // If entityType is neither "contact" nor "deal", activities remains an empty
-        // ArrayList.
-        // This effectively replaces the previous 'default: return
-        // Collections.emptyList();'
-        // by allowing an empty list to be sorted (which does nothing) and then
-        // returned.
-
-        // Sort by created at desc (newest first)
-        activities.sort((a1, a2) -> {
-            if (a1.getCreatedAt() == null || a2.getCreatedAt() == null)
-                return 0;
-            return a2.getCreatedAt().compareTo(a1.getCreatedAt());
-        });
-
-        return activities;
+
+        public static EntityType parse(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                        "Unknown timeline entity type '" + value + "', expected contact, deal or company");
+            }
+        }
+    }
+
+    private final EntityManager entityManager;
+    private final CompanyService companyService;
+    private final DealService dealService;
+
+    // Newest first, ordered and paged in SQL on the (entity, created_at, id) indexes.
+    @Transactional(readOnly = true)
+    public CursorPage<ActivityListItem> getTimeline(String entityType, UUID entityId, CursorPageRequest page,
+            String fields) {
+        EntityType type = EntityType.parse(entityType);
+        if (type == EntityType.COMPANY) {
+            return getCompanyTimeline(entityId, page, fields);
+        }
+        return KeysetPagination.fetch(entityManager, ActivityService.LIST_VIEW, forEntity(type.attribute, entityId),
+                page, fields);
+    }
+
+    // Activities of the company's contacts and of their deals. Every batch of ids is its own sorted cursor and
+    // the cursors are merged lazily; each id is read through its own index range, at most limit + 1 rows of
+    // it per query, whatever the account size. The merge orders by createdAt, so it is always part of the rows.
+    private CursorPage<ActivityListItem> getCompanyTimeline(UUID companyId, CursorPageRequest page, String fields) {
+        List<UUID> contactIds = companyService.getContactIdsByCompany(companyId);
+        List<UUID> dealIds = dealService.getDealIdsByContacts(contactIds);
+
+        List<String> selected = new ArrayList<>(ActivityService.LIST_VIEW.resolve(fields));
+        if (!selected.contains(page.sortField())) {
+            selected.add(page.sortField());
+        }
+
+        List<TimelineSource> sources = new ArrayList<>();
+        addSources(sources, EntityType.CONTACT.attribute, contactIds, page, selected);
+        addSources(sources, EntityType.DEAL.attribute, dealIds, page, selected);
+
+        List<ActivityListItem> rows = TimelineMerge.merge(sources, page.limit() + 1);
+        String nextCursor = null;
+        if (rows.size() > page.limit()) {
+            rows = rows.subList(0, page.limit());
+            ActivityListItem last = rows.get(rows.size() - 1);
+            nextCursor = page.encodeCursor(last.createdAt(), last.id());
+        }
+        return new CursorPage<>(new ArrayList<>(rows), nextCursor);
+    }
+
+    private void addSources(List<TimelineSource> sources, String attribute, List<UUID> ids, CursorPageRequest page,
+            List<String> fields) {
+        for (int from = 0; from < ids.size(); from += SOURCE_BATCH_SIZE) {
+            List<UUID> batch = ids.subList(from, Math.min(from + SOURCE_BATCH_SIZE, ids.size()));
+            sources.add(new TimelineSource(entityManager, TimelineSource.column(attribute), batch, page, fields));
+        }
+    }
+
+    static Specification<Activity> forEntity(String attribute, UUID id) {
+        return (root, query, builder) -> builder.equal(root.get(attribute), id);
     }
 }
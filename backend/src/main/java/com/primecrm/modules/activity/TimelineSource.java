@@ -0,0 +1,120 @@
+package com.primecrm.modules.activity;
+
+import com.primecrm.core.search.CursorPageRequest;
+import jakarta.persistence.EntityManager;
+import org.hibernate.query.NativeQuery;
+
+import java.lang.reflect.RecordComponent;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+// The activities of a batch of contacts or deals, newest first, as one sorted cursor for TimelineMerge.
+// An IN list over the batch cannot walk the (entity, created_at, id) index in order, so Postgres would read
+// every activity of every id and sort them. Instead each id gets its own LATERAL subquery with an equality
+// predicate, which walks its index range from the cursor and stops after limit rows; only those at most
+// ids x limit rows are sorted. The next query is only run once the merge has drained this one.
+final class TimelineSource implements Iterator<ActivityListItem> {
+
+    private static final Map<String, Class<?>> FIELD_TYPES = Arrays.stream(
+                    ActivityListItem.class.getRecordComponents())
+            .collect(Collectors.toMap(RecordComponent::getName, RecordComponent::getType));
+
+    private final EntityManager entityManager;
+    private final String column;
+    private final List<UUID> ids;
+    private final List<String> fields;
+    private final int limit;
+
+    private LocalDateTime afterCreatedAt;
+    private UUID afterId;
+    private boolean exhausted;
+    private Iterator<ActivityListItem> buffer = Collections.emptyIterator();
+
+    // fields must include createdAt and id, which the cursor and the merge order on.
+    TimelineSource(EntityManager entityManager, String column, List<UUID> ids, CursorPageRequest page,
+            List<String> fields) {
+        this.entityManager = entityManager;
+        this.column = column;
+        this.ids = ids;
+        this.fields = fields;
+        this.limit = page.limit() + 1;
+        if (page.after() != null) {
+            afterCreatedAt = LocalDateTime.parse(page.after().value());
+            afterId = page.after().id();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!buffer.hasNext() && !exhausted) {
+            List<ActivityListItem> rows = fetch();
+            exhausted = rows.size() < limit;
+            if (!rows.isEmpty()) {
+                ActivityListItem last = rows.get(rows.size() - 1);
+                afterCreatedAt = last.createdAt();
+                afterId = last.id();
+            }
+            buffer = rows.iterator();
+        }
+        return buffer.hasNext();
+    }
+
+    @Override
+    public ActivityListItem next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return buffer.next();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ActivityListItem> fetch() {
+        StringBuilder sql = new StringBuilder("SELECT ");
+        for (int i = 0; i < fields.size(); i++) {
+            sql.append(i > 0 ? ", " : "").append("a.").append(column(fields.get(i)));
+        }
+        sql.append(" FROM unnest(CAST(ARRAY[:ids] AS uuid[])) AS e(id) CROSS JOIN LATERAL (")
+                .append("SELECT * FROM activities WHERE ").append(column).append(" = e.id");
+        if (afterId != null) {
+            sql.append(" AND (created_at, id) < (:createdAt, :id)");
+        }
+        sql.append(" ORDER BY created_at DESC, id DESC LIMIT :limit) a")
+                .append(" ORDER BY a.created_at DESC, a.id DESC LIMIT :limit");
+
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(sql.toString()).unwrap(NativeQuery.class);
+        for (String field : fields) {
+            Class<?> type = FIELD_TYPES.get(field);
+            query.addScalar(column(field), type.isEnum() ? String.class : type);
+        }
+        query.setParameterList("ids", ids).setParameter("limit", limit);
+        if (afterId != null) {
+            query.setParameter("createdAt", afterCreatedAt).setParameter("id", afterId);
+        }
+
+        return query.getResultList().stream().map(this::toView).toList();
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private ActivityListItem toView(Object[] row) {
+        for (int i = 0; i < row.length; i++) {
+            Class<?> type = FIELD_TYPES.get(fields.get(i));
+            if (type.isEnum() && row[i] != null) {
+                row[i] = Enum.valueOf((Class<? extends Enum>) type, (String) row[i]);
+            }
+        }
+        return ActivityService.LIST_VIEW.toView(fields, row);
+    }
+
+    // Same naming as the default physical naming strategy: createdAt -> created_at.
+    static String column(String field) {
+        return field.replaceAll("([a-z])([A-Z])", "$1_$2").toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,11 +1,17 @@
 package com.primecrm.modules.analytics;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -15,10 +21,15 @@ import java.util.Map;
 public class AnalyticsController {
 
     private final AnalyticsService analyticsService;
+    private final DailyRollupService dailyRollupService;
+    private final DealFunnelStats dealFunnelStats;
 
     @GetMapping("/revenue")
-    public ResponseEntity<List<Map<String, Object>>> getRevenueOverTime() {
-        return ResponseEntity.ok(analyticsService.getRevenueOverTime());
+    public ResponseEntity<TimeSeries<BigDecimal>> getRevenueOverTime(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String granularity) {
+        return ResponseEntity.ok(analyticsService.getRevenueOverTime(from, to, Granularity.parse(granularity)));
     }
 
     @GetMapping("/pipeline")
@@ -26,8 +37,28 @@ public class AnalyticsController {
         return ResponseEntity.ok(analyticsService.getPipelineDistribution());
     }
 
+    @GetMapping("/pipeline/funnel")
+    public ResponseEntity<List<DealFunnelStats.FunnelStep>> getPipelineFunnel() {
+        return ResponseEntity.ok(dealFunnelStats.getFunnel());
+    }
+
+    @GetMapping("/pipeline/velocity")
+    public ResponseEntity<List<DealFunnelStats.StageVelocity>> getPipelineVelocity() {
+        return ResponseEntity.ok(dealFunnelStats.getVelocity());
+    }
+
     @GetMapping("/activities")
-    public ResponseEntity<List<Map<String, Object>>> getActivityVolume() {
-        return ResponseEntity.ok(analyticsService.getActivityVolume());
+    public ResponseEntity<TimeSeries<Long>> getActivityVolume(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String granularity) {
+        return ResponseEntity.ok(analyticsService.getActivityVolume(from, to, Granularity.parse(granularity)));
+    }
+
+    @PostMapping("/rollups/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> rebuildRollups() {
+        dailyRollupService.rebuild();
+        return ResponseEntity.noContent().build();
     }
 }
@@ -1,34 +1,31 @@
 package com.primecrm.modules.analytics;
 
-import com.primecrm.modules.activity.ActivityRepository;
 import com.primecrm.modules.sales.DealRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class AnalyticsService {
 
+    private static final int MAX_DAILY_BUCKETS = 3660;
+
     private final DealRepository dealRepository;
-    private final ActivityRepository activityRepository;
-
-    public List<Map<String, Object>> getRevenueOverTime() {
-        LocalDateTime startDate = LocalDateTime.now().minusMonths(6);
-        List<Object[]> results = dealRepository.sumValueByDate(startDate);
-        return results.stream().map(row -> {
-            Map<String, Object> map = new HashMap<>();
-            map.put("date", row[0]);
-            map.put("value", row[1]);
-            return map;
-        }).collect(Collectors.toList());
+    private final TimeSeriesRepository timeSeriesRepository;
+
+    public TimeSeries<BigDecimal> getRevenueOverTime(LocalDate from, LocalDate to, Granularity granularity) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusMonths(6);
+        validateRange(start, end);
+        return timeSeriesRepository.revenue(start, end, granularity);
     }
 
     public Map<String, Long> getPipelineDistribution() {
@@ -40,14 +37,19 @@ public class AnalyticsService {
         return distribution;
     }
 
-    public List<Map<String, Object>> getActivityVolume() {
-        LocalDateTime startDate = LocalDateTime.now().minusDays(30);
-        List<Object[]> results = activityRepository.countByDate(startDate);
-        return results.stream().map(row -> {
-            Map<String, Object> map = new HashMap<>();
-            map.put("date", row[0]);
-            map.put("count", row[1]);
-            return map;
-        }).collect(Collectors.toList());
+    public TimeSeries<Long> getActivityVolume(LocalDate from, LocalDate to, Granularity granularity) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(30);
+        validateRange(start, end);
+        return timeSeriesRepository.activityVolume(start, end, granularity);
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        if (from.plusDays(MAX_DAILY_BUCKETS).isBefore(to)) {
+            throw new IllegalArgumentException("Date range must not exceed " + MAX_DAILY_BUCKETS + " days");
+        }
     }
 }
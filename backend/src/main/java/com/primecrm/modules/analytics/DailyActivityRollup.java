@@ -0,0 +1,26 @@
+package com.primecrm.modules.analytics;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "daily_activity_rollups")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyActivityRollup {
+
+    @Id
+    @Column(name = "bucket_date")
+    private LocalDate day;
+
+    @Column(nullable = false)
+    private long activityCount;
+}
@@ -0,0 +1,25 @@
+package com.primecrm.modules.analytics;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+
+public interface DailyActivityRollupRepository extends JpaRepository<DailyActivityRollup, LocalDate> {
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_activity_rollups (bucket_date, activity_count) VALUES (:day, :count) "
+            + "ON CONFLICT (bucket_date) DO UPDATE SET activity_count = daily_activity_rollups.activity_count + EXCLUDED.activity_count", nativeQuery = true)
+    void increment(@Param("day") LocalDate day, @Param("count") long count);
+
+    @Modifying
+    @Query(value = "DELETE FROM daily_activity_rollups", nativeQuery = true)
+    void deleteAllRows();
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_activity_rollups (bucket_date, activity_count) "
+            + "SELECT CAST(created_at AS DATE), COUNT(*) FROM activities GROUP BY CAST(created_at AS DATE)", nativeQuery = true)
+    int backfillFromActivities();
+}
@@ -0,0 +1,30 @@
+package com.primecrm.modules.analytics;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "daily_revenue_rollups")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyRevenueRollup {
+
+    @Id
+    @Column(name = "bucket_date")
+    private LocalDate day;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalValue;
+
+    @Column(nullable = false)
+    private long dealCount;
+}
@@ -0,0 +1,27 @@
+package com.primecrm.modules.analytics;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface DailyRevenueRollupRepository extends JpaRepository<DailyRevenueRollup, LocalDate> {
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_revenue_rollups (bucket_date, total_value, deal_count) VALUES (:day, :value, :count) "
+            + "ON CONFLICT (bucket_date) DO UPDATE SET total_value = daily_revenue_rollups.total_value + EXCLUDED.total_value, "
+            + "deal_count = daily_revenue_rollups.deal_count + EXCLUDED.deal_count", nativeQuery = true)
+    void increment(@Param("day") LocalDate day, @Param("value") BigDecimal value, @Param("count") long count);
+
+    @Modifying
+    @Query(value = "DELETE FROM daily_revenue_rollups", nativeQuery = true)
+    void deleteAllRows();
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_revenue_rollups (bucket_date, total_value, deal_count) "
+            + "SELECT CAST(created_at AS DATE), COALESCE(SUM(value), 0), COUNT(*) FROM deals GROUP BY CAST(created_at AS DATE)", nativeQuery = true)
+    int backfillFromDeals();
+}
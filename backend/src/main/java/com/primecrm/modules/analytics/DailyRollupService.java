@@ -0,0 +1,73 @@
+package com.primecrm.modules.analytics;
+
+import com.primecrm.modules.activity.ActivityEvents;
+import com.primecrm.modules.sales.Deal;
+import com.primecrm.modules.sales.DealEvents;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+public class DailyRollupService {
+
+    private final DailyRevenueRollupRepository revenueRollupRepository;
+    private final DailyActivityRollupRepository activityRollupRepository;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onDealCreated(DealEvents.DealCreated event) {
+        Deal deal = event.deal();
+        revenueRollupRepository.increment(dayOf(deal.getCreatedAt()), valueOf(deal), 1);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onDealDeleted(DealEvents.DealDeleted event) {
+        Deal deal = event.deal();
+        revenueRollupRepository.increment(dayOf(deal.getCreatedAt()), valueOf(deal).negate(), -1);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onActivityCreated(ActivityEvents.ActivityCreated event) {
+        activityRollupRepository.increment(dayOf(event.activity().getCreatedAt()), 1);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onActivitiesIngested(ActivityEvents.ActivitiesIngested event) {
+        event.activities().stream()
+                .collect(java.util.stream.Collectors.groupingBy(a -> dayOf(a.getCreatedAt()),
+                        java.util.stream.Collectors.counting()))
+                .forEach(activityRollupRepository::increment);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfEmpty() {
+        if (revenueRollupRepository.count() == 0 && activityRollupRepository.count() == 0) {
+            rebuild();
+        }
+    }
+
+    @Transactional
+    public void rebuild() {
+        revenueRollupRepository.deleteAllRows();
+        revenueRollupRepository.backfillFromDeals();
+        activityRollupRepository.deleteAllRows();
+        activityRollupRepository.backfillFromActivities();
+    }
+
+    private static LocalDate dayOf(LocalDateTime createdAt) {
+        return createdAt != null ? createdAt.toLocalDate() : LocalDate.now();
+    }
+
+    private static BigDecimal valueOf(Deal deal) {
+        return deal.getValue() != null ? deal.getValue() : BigDecimal.ZERO;
+    }
+}
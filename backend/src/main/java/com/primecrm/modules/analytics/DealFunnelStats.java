@@ -0,0 +1,136 @@
+package com.primecrm.modules.analytics;
+
+import com.primecrm.modules.sales.Deal.DealStage;
+import com.primecrm.modules.sales.DealEvents;
+import com.primecrm.modules.sales.DealStageTransitionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class DealFunnelStats {
+
+    static final int MAX_TRACKED_DAYS = 365;
+
+    private static final DealStage[] STAGES = DealStage.values();
+    private static final List<DealStage> FUNNEL = List.of(
+            DealStage.LEAD, DealStage.QUALIFIED, DealStage.PROPOSAL, DealStage.NEGOTIATION, DealStage.CLOSED_WON);
+
+    private final DealStageTransitionRepository stageTransitionRepository;
+
+    private final long[] entries = new long[STAGES.length];
+    private final long[][] transitions = new long[STAGES.length][STAGES.length];
+    private final long[][] daysInStage = new long[STAGES.length][MAX_TRACKED_DAYS + 2];
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuild() {
+        if (stageTransitionRepository.count() == 0) {
+            stageTransitionRepository.seedFromCurrentStages();
+        }
+        List<Object[]> entryRows = stageTransitionRepository.countEntriesByStage();
+        List<Object[]> transitionRows = stageTransitionRepository.countTransitions();
+        List<Object[]> dayRows = stageTransitionRepository.countDaysInStage();
+
+        synchronized (this) {
+            Arrays.fill(entries, 0);
+            for (long[] row : transitions) {
+                Arrays.fill(row, 0);
+            }
+            for (long[] row : daysInStage) {
+                Arrays.fill(row, 0);
+            }
+            for (Object[] row : entryRows) {
+                entries[((DealStage) row[0]).ordinal()] = ((Number) row[1]).longValue();
+            }
+            for (Object[] row : transitionRows) {
+                transitions[((DealStage) row[0]).ordinal()][((DealStage) row[1]).ordinal()] = ((Number) row[2]).longValue();
+            }
+            for (Object[] row : dayRows) {
+                daysInStage[((DealStage) row[0]).ordinal()][bucket(((Number) row[1]).longValue())] += ((Number) row[2]).longValue();
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    public synchronized void onDealCreated(DealEvents.DealCreated event) {
+        entries[event.deal().getStage().ordinal()]++;
+    }
+
+    @TransactionalEventListener
+    public synchronized void onDealStageChanged(DealEvents.DealStageChanged event) {
+        int from = event.previousStage().ordinal();
+        int to = event.deal().getStage().ordinal();
+        entries[to]++;
+        transitions[from][to]++;
+        daysInStage[from][bucket(event.timeInPreviousStage().toDays())]++;
+    }
+
+    public synchronized List<FunnelStep> getFunnel() {
+        List<FunnelStep> steps = new ArrayList<>(FUNNEL.size());
+        for (int i = 0; i < FUNNEL.size(); i++) {
+            DealStage stage = FUNNEL.get(i);
+            DealStage next = i + 1 < FUNNEL.size() ? FUNNEL.get(i + 1) : null;
+            long entered = entries[stage.ordinal()];
+            long advanced = next != null ? countAdvanced(stage) : 0;
+            long lost = transitions[stage.ordinal()][DealStage.CLOSED_LOST.ordinal()];
+            double conversionRate = next != null && entered > 0 ? (double) advanced / entered : 0;
+            steps.add(new FunnelStep(stage.name(), entered, advanced, lost, conversionRate));
+        }
+        return steps;
+    }
+
+    public synchronized List<StageVelocity> getVelocity() {
+        List<StageVelocity> velocity = new ArrayList<>(STAGES.length);
+        for (DealStage stage : STAGES) {
+            long[] histogram = daysInStage[stage.ordinal()];
+            long samples = 0;
+            for (long count : histogram) {
+                samples += count;
+            }
+            velocity.add(new StageVelocity(stage.name(), samples, samples > 0 ? median(histogram, samples) : null));
+        }
+        return velocity;
+    }
+
+    private long countAdvanced(DealStage from) {
+        long advanced = 0;
+        for (DealStage to : STAGES) {
+            if (to != DealStage.CLOSED_LOST && to.ordinal() > from.ordinal()) {
+                advanced += transitions[from.ordinal()][to.ordinal()];
+            }
+        }
+        return advanced;
+    }
+
+    private static Integer median(long[] histogram, long samples) {
+        long target = (samples + 1) / 2;
+        long seen = 0;
+        for (int day = 0; day < histogram.length; day++) {
+            seen += histogram[day];
+            if (seen >= target) {
+                return day;
+            }
+        }
+        return histogram.length - 1;
+    }
+
+    private static int bucket(long days) {
+        return (int) Math.max(0, Math.min(days, MAX_TRACKED_DAYS + 1));
+    }
+
+    public record FunnelStep(String stage, long entered, long advanced, long lost, double conversionRate) {
+    }
+
+    // medianDays is capped at MAX_TRACKED_DAYS + 1 for very long stays
+    public record StageVelocity(String stage, long samples, Integer medianDays) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.primecrm.modules.analytics;
+
+import java.util.Locale;
+
+public enum Granularity {
+    DAY, WEEK, MONTH;
+
+    public String truncationUnit() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static Granularity parse(String value) {
+        if (value == null || value.isBlank()) {
+            return DAY;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported granularity: " + value + " (expected day, week or month)");
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.primecrm.modules.analytics;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record TimeSeries<T extends Number>(
+        LocalDate from,
+        LocalDate to,
+        Granularity granularity,
+        List<LocalDate> dates,
+        List<T> values) {
+}
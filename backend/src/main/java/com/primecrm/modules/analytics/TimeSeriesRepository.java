@@ -0,0 +1,45 @@
+package com.primecrm.modules.analytics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class TimeSeriesRepository {
+
+    private static final String REVENUE_SQL = "SELECT CAST(date_trunc(?, bucket_date) AS DATE), SUM(total_value) "
+            + "FROM daily_revenue_rollups WHERE bucket_date BETWEEN ? AND ? "
+            + "GROUP BY 1 HAVING SUM(deal_count) > 0 ORDER BY 1";
+
+    private static final String ACTIVITY_SQL = "SELECT CAST(date_trunc(?, bucket_date) AS DATE), SUM(activity_count) "
+            + "FROM daily_activity_rollups WHERE bucket_date BETWEEN ? AND ? "
+            + "GROUP BY 1 HAVING SUM(activity_count) > 0 ORDER BY 1";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TimeSeries<BigDecimal> revenue(LocalDate from, LocalDate to, Granularity granularity) {
+        List<LocalDate> dates = new ArrayList<>();
+        List<BigDecimal> values = new ArrayList<>();
+        jdbcTemplate.query(REVENUE_SQL, rs -> {
+            dates.add(rs.getObject(1, LocalDate.class));
+            values.add(rs.getBigDecimal(2));
+        }, granularity.truncationUnit(), from, to);
+        return new TimeSeries<>(from, to, granularity, dates, values);
+    }
+
+    public TimeSeries<Long> activityVolume(LocalDate from, LocalDate to, Granularity granularity) {
+        List<LocalDate> dates = new ArrayList<>();
+        List<Long> values = new ArrayList<>();
+        jdbcTemplate.query(ACTIVITY_SQL, rs -> {
+            dates.add(rs.getObject(1, LocalDate.class));
+            values.add(rs.getLong(2));
+        }, granularity.truncationUnit(), from, to);
+        return new TimeSeries<>(from, to, granularity, dates, values);
+    }
+}
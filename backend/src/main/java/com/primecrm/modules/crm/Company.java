@@ -3,12 +3,18 @@ package com.primecrm.modules.crm;
 import com.primecrm.core.BaseEntity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
 
 @Entity
-@Table(name = "companies")
+@jakarta.persistence.Cacheable
+@org.hibernate.annotations.Cache(usage = org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE, region = "companies")
+@Table(name = "companies", indexes = {
+        @Index(name = "idx_company_name_id", columnList = "name, id"),
+        @Index(name = "idx_company_created_at_id", columnList = "created_at, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -1,9 +1,13 @@
 package com.primecrm.modules.crm;
 
+import com.primecrm.core.CollectionVersions;
+import com.primecrm.core.search.CursorPageRequest;
+import com.primecrm.core.search.SearchCriteria;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -14,10 +18,22 @@ import java.util.UUID;
 public class CompanyController {
 
     private final CompanyService companyService;
+    private final CollectionVersions collectionVersions;
 
     @GetMapping
-    public ResponseEntity<List<Company>> getAllCompanies() {
-        return ResponseEntity.ok(companyService.getAllCompanies());
+    public ResponseEntity<List<CompanyListItem>> getAllCompanies(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            NativeWebRequest request) {
+        if (collectionVersions.checkNotModified(CompanyService.COLLECTION, request)) {
+            return null;
+        }
+        List<SearchCriteria> criteria = SearchCriteria.parse(search);
+        CursorPageRequest page = CursorPageRequest.of(sort, cursor, limit, CompanyService.SORTABLE_FIELDS);
+        return companyService.searchCompanies(criteria, page, fields).toResponseEntity();
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,10 @@
+package com.primecrm.modules.crm;
+
+public final class CompanyEvents {
+
+    private CompanyEvents() {
+    }
+
+    public record CompanyCreated(Company company) {
+    }
+}
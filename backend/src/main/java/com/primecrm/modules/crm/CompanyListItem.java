@@ -0,0 +1,18 @@
+package com.primecrm.modules.crm;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Row of the companies list; fields left out through ?fields= are null and omitted from the JSON.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CompanyListItem(
+        UUID id,
+        String name,
+        String industry,
+        String website,
+        String phone,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
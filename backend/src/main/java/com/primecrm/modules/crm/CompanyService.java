@@ -1,22 +1,54 @@
 package com.primecrm.modules.crm;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import com.primecrm.core.CollectionVersions;
 import com.primecrm.core.exception.ResourceNotFoundException;
+import com.primecrm.core.search.CursorPage;
+import com.primecrm.core.search.CursorPageRequest;
+import com.primecrm.core.search.KeysetPagination;
+import com.primecrm.core.search.Projection;
+import com.primecrm.core.search.SearchCriteria;
+import com.primecrm.core.search.SearchSchema;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class CompanyService {
 
+    public static final String COLLECTION = "companies";
+
+    public static final Set<String> SORTABLE_FIELDS = Set.of("name");
+
+    public static final SearchSchema<Company> SEARCH_FIELDS = SearchSchema.of(Company.class)
+            .field("name")
+            .field("industry")
+            .field("website")
+            .field("phone")
+            .field("createdAt");
+
+    public static final Projection<Company, CompanyListItem> LIST_VIEW = Projection
+            .of(Company.class, CompanyListItem.class)
+            .optional("updatedAt");
+
     private final CompanyRepository companyRepository;
     private final ContactRepository contactRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final CollectionVersions collectionVersions;
+    private final ContactSearchIndex searchIndex;
 
-    public List<Company> getAllCompanies() {
-        return companyRepository.findAll();
+    public CursorPage<CompanyListItem> searchCompanies(List<SearchCriteria> criteriaList, CursorPageRequest page,
+            String fields) {
+        Specification<Company> spec = searchIndex.companySpecification(criteriaList, SEARCH_FIELDS);
+        return KeysetPagination.fetch(entityManager, LIST_VIEW, spec, page, fields);
     }
 
     public Company getCompany(@lombok.NonNull UUID id) {
@@ -26,7 +58,11 @@ public class CompanyService {
 
     @Transactional
     public Company createCompany(@lombok.NonNull Company company) {
-        return companyRepository.save(company);
+        Company saved = companyRepository.save(company);
+        eventPublisher.publishEvent(new CompanyEvents.CompanyCreated(saved));
+        searchIndex.putCompany(saved);
+        collectionVersions.bump(COLLECTION);
+        return saved;
     }
 
     public List<Contact> getContactsByCompany(@lombok.NonNull UUID companyId) {
@@ -35,4 +71,11 @@ public class CompanyService {
         }
         return contactRepository.findByCompanyId(companyId);
     }
+
+    public List<UUID> getContactIdsByCompany(@lombok.NonNull UUID companyId) {
+        if (!companyRepository.existsById(companyId)) {
+            throw new ResourceNotFoundException("Company not found with id: " + companyId);
+        }
+        return contactRepository.findIdsByCompanyId(companyId);
+    }
 }
@@ -11,9 +11,15 @@ import jakarta.validation.constraints.NotBlank;
 import lombok.*;
 
 @Entity
+@jakarta.persistence.Cacheable
+@org.hibernate.annotations.Cache(usage = org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE, region = "contacts")
 @Table(name = "contacts", indexes = {
         @Index(name = "idx_contact_email", columnList = "email"),
-        @Index(name = "idx_contact_company", columnList = "company_id")
+        @Index(name = "idx_contact_company", columnList = "company_id"),
+        // One per list sort key, with id last as the keyset tie-breaker
+        @Index(name = "idx_contact_first_name_id", columnList = "first_name, id"),
+        @Index(name = "idx_contact_last_name_id", columnList = "last_name, id"),
+        @Index(name = "idx_contact_created_at_id", columnList = "created_at, id")
 })
 @Getter
 @Setter
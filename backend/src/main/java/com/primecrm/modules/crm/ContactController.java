@@ -1,13 +1,26 @@
 package com.primecrm.modules.crm;
 
+import com.primecrm.core.CollectionVersions;
+import com.primecrm.core.export.ExportColumn;
+import com.primecrm.core.export.ExportFormat;
+import com.primecrm.core.export.StreamingExporter;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import com.primecrm.core.protobuf.PrimeCrmProto;
+import com.primecrm.core.protobuf.ProtoValues;
+import com.primecrm.core.search.CursorPage;
+import com.primecrm.core.search.CursorPageRequest;
+import com.primecrm.core.search.Facets;
 import com.primecrm.core.search.SearchCriteria;
 import org.springframework.security.access.prepost.PreAuthorize;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -15,12 +28,69 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class ContactController {
 
+    private static final List<ExportColumn<Contact>> EXPORT_COLUMNS = List.of(
+            ExportColumn.of("id", Contact::getId),
+            ExportColumn.of("firstName", Contact::getFirstName),
+            ExportColumn.of("lastName", Contact::getLastName),
+            ExportColumn.of("email", Contact::getEmail),
+            ExportColumn.of("phone", Contact::getPhone),
+            ExportColumn.of("jobTitle", Contact::getJobTitle),
+            ExportColumn.of("companyId", c -> c.getCompany() != null ? c.getCompany().getId() : null),
+            ExportColumn.of("companyName", c -> c.getCompany() != null ? c.getCompany().getName() : null),
+            ExportColumn.of("createdAt", Contact::getCreatedAt),
+            ExportColumn.of("updatedAt", Contact::getUpdatedAt));
+
     private final ContactService contactService;
+    private final StreamingExporter exporter;
+    private final CollectionVersions collectionVersions;
 
     @GetMapping
-    public ResponseEntity<List<Contact>> getAllContacts(@RequestParam(required = false) String search) {
-        List<SearchCriteria> criteria = SearchCriteria.parse(search);
-        return ResponseEntity.ok(contactService.searchContacts(criteria));
+    public ResponseEntity<List<ContactListItem>> getAllContacts(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            NativeWebRequest request) {
+        if (collectionVersions.checkNotModified(ContactService.COLLECTION, request)) {
+            return null;
+        }
+        return search(search, sort, cursor, limit, fields).toResponseEntity();
+    }
+
+    // Counts per facet for the same ?search= as the list, for filter sidebars.
+    @GetMapping("/facets")
+    public ResponseEntity<Map<String, Facets.Result>> getContactFacets(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String facets,
+            @RequestParam(required = false) Integer buckets,
+            NativeWebRequest request) {
+        if (collectionVersions.checkNotModified(ContactService.COLLECTION, request)) {
+            return null;
+        }
+        return ResponseEntity.ok(contactService.countContactFacets(SearchCriteria.parse(search), facets, buckets));
+    }
+
+    @GetMapping(produces = ProtoValues.MEDIA_TYPE)
+    public ResponseEntity<PrimeCrmProto.ContactList> getAllContactsProtobuf(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            NativeWebRequest request) {
+        if (collectionVersions.checkNotModified(ContactService.COLLECTION, request)) {
+            return null;
+        }
+        return search(search, sort, cursor, limit, fields).toResponseEntity(ContactProtos::list);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportContacts(
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return exporter.export("contacts", ExportFormat.parse(format), StreamingExporter.acceptsGzip(acceptEncoding),
+                EXPORT_COLUMNS, contactService::streamAllContacts);
     }
 
     @GetMapping("/{id}")
@@ -39,4 +109,10 @@ public class ContactController {
         contactService.deleteContact(id);
         return ResponseEntity.noContent().build();
     }
+
+    private CursorPage<ContactListItem> search(String search, String sort, String cursor, Integer limit,
+            String fields) {
+        CursorPageRequest page = CursorPageRequest.of(sort, cursor, limit, ContactService.SORTABLE_FIELDS);
+        return contactService.searchContacts(SearchCriteria.parse(search), page, fields);
+    }
 }
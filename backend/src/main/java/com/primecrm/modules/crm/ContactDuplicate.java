@@ -0,0 +1,43 @@
+package com.primecrm.modules.crm;
+
+import com.primecrm.core.BaseEntity;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.UUID;
+
+// A pair of contacts that look like the same person, kept for review. contactId is always the
+// smaller of the two ids, so a pair has a single row.
+@Entity
+@Table(name = "contact_duplicates", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_contact_duplicate_pair", columnNames = { "contact_id", "duplicate_id" })
+}, indexes = {
+        @Index(name = "idx_contact_duplicate_status_score", columnList = "status, score"),
+        @Index(name = "idx_contact_duplicate_duplicate", columnList = "duplicate_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ContactDuplicate extends BaseEntity {
+
+    @Column(name = "contact_id", nullable = false, updatable = false)
+    private UUID contactId;
+
+    @Column(name = "duplicate_id", nullable = false, updatable = false)
+    private UUID duplicateId;
+
+    @Column(nullable = false)
+    private double score;
+
+    private String reasons;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    public enum Status {
+        PENDING, CONFIRMED, DISMISSED
+    }
+}
@@ -0,0 +1,44 @@
+package com.primecrm.modules.crm;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/contacts/duplicates")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class ContactDuplicateController {
+
+    private final ContactDuplicateService duplicateService;
+
+    @GetMapping
+    public ResponseEntity<List<ContactDuplicate>> getDuplicates(
+            @RequestParam(defaultValue = "PENDING") ContactDuplicate.Status status,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(duplicateService.getDuplicates(status, limit));
+    }
+
+    @PatchMapping("/{id}")
+    public ResponseEntity<ContactDuplicate> review(@PathVariable UUID id,
+            @RequestParam ContactDuplicate.Status status) {
+        return ResponseEntity.ok(duplicateService.review(id, status));
+    }
+
+    @PostMapping("/scan")
+    public ResponseEntity<DuplicateScan> startScan() {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/contacts/duplicates/scan"))
+                .body(duplicateService.startScan());
+    }
+
+    @GetMapping("/scan")
+    public ResponseEntity<DuplicateScan> getScan() {
+        return ResponseEntity.ok(duplicateService.getLastScan());
+    }
+}
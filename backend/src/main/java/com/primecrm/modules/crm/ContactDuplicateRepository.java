@@ -0,0 +1,12 @@
+package com.primecrm.modules.crm;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ContactDuplicateRepository extends JpaRepository<ContactDuplicate, UUID> {
+
+    List<ContactDuplicate> findByStatusOrderByScoreDesc(ContactDuplicate.Status status, Limit limit);
+}
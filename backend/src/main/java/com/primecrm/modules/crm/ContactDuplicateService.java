@@ -0,0 +1,62 @@
+package com.primecrm.modules.crm;
+
+import com.primecrm.core.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class ContactDuplicateService {
+
+    static final int MAX_LIMIT = 500;
+
+    private final DuplicateDetector detector;
+    private final ContactDuplicateRepository duplicateRepository;
+
+    private DuplicateScan lastScan;
+
+    // A scan that is already running is returned instead of starting a second one.
+    public synchronized DuplicateScan startScan() {
+        if (lastScan == null || lastScan.getStatus() != DuplicateScan.Status.RUNNING) {
+            lastScan = new DuplicateScan();
+            detector.run(lastScan);
+        }
+        return lastScan;
+    }
+
+    @Scheduled(cron = "${crm.duplicates.scan-cron:-}")
+    public void scheduledScan() {
+        startScan();
+    }
+
+    public synchronized DuplicateScan getLastScan() {
+        if (lastScan == null) {
+            throw new ResourceNotFoundException("No duplicate scan has run yet");
+        }
+        return lastScan;
+    }
+
+    public List<ContactDuplicate> getDuplicates(ContactDuplicate.Status status, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return duplicateRepository.findByStatusOrderByScoreDesc(status, Limit.of(limit));
+    }
+
+    @Transactional
+    public ContactDuplicate review(@lombok.NonNull UUID id, ContactDuplicate.Status status) {
+        if (status == null || status == ContactDuplicate.Status.PENDING) {
+            throw new IllegalArgumentException("status must be CONFIRMED or DISMISSED");
+        }
+        ContactDuplicate duplicate = duplicateRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Duplicate not found with id: " + id));
+        duplicate.setStatus(status);
+        return duplicateRepository.save(duplicate);
+    }
+}
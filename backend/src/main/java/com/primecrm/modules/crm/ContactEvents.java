@@ -0,0 +1,20 @@
+package com.primecrm.modules.crm;
+
+public final class ContactEvents {
+
+    private ContactEvents() {
+    }
+
+    public record ContactCreated(Contact contact) {
+    }
+
+    public record ContactDeleted(Contact contact) {
+    }
+
+    public record ContactsImported(java.util.List<Contact> contacts, java.util.List<Company> companies) {
+
+        public int count() {
+            return contacts.size();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.primecrm.modules.crm;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.net.URI;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/contacts/imports")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class ContactImportController {
+
+    private final ContactImportService importService;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ContactImportJob> submit(@RequestParam("file") MultipartFile file) {
+        ContactImportJob job = importService.submit(file);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/contacts/imports/" + job.getId()))
+                .body(job);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ContactImportJob>> getJobs() {
+        return ResponseEntity.ok(importService.getJobs());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ContactImportJob> getJob(@PathVariable UUID id) {
+        return ResponseEntity.ok(importService.getJob(id));
+    }
+}
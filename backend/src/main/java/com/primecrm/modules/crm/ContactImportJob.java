@@ -0,0 +1,86 @@
+package com.primecrm.modules.crm;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Getter
+public class ContactImportJob {
+
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    public record RowError(long line, String message) {
+    }
+
+    private final UUID id = UUID.randomUUID();
+    private final String fileName;
+    private final long totalBytes;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile LocalDateTime finishedAt;
+    private volatile String failureReason;
+    private volatile long bytesRead;
+
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong contactsImported = new AtomicLong();
+    private final AtomicLong duplicatesSkipped = new AtomicLong();
+    private final AtomicLong companiesCreated = new AtomicLong();
+    private final AtomicLong rowsRejected = new AtomicLong();
+
+    @Getter(lombok.AccessLevel.NONE)
+    private final List<RowError> errors = new ArrayList<>();
+
+    ContactImportJob(String fileName, long totalBytes) {
+        this.fileName = fileName;
+        this.totalBytes = totalBytes;
+    }
+
+    public int getProgressPercent() {
+        return totalBytes == 0 ? 100 : (int) (bytesRead * 100 / totalBytes);
+    }
+
+    public List<RowError> getErrors() {
+        synchronized (errors) {
+            return Collections.unmodifiableList(new ArrayList<>(errors));
+        }
+    }
+
+    void start() {
+        status = Status.RUNNING;
+    }
+
+    void progress(long bytes) {
+        bytesRead = bytes;
+    }
+
+    void reject(long line, String message) {
+        rowsRejected.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new RowError(line, message));
+            }
+        }
+    }
+
+    void complete() {
+        bytesRead = totalBytes;
+        finishedAt = LocalDateTime.now();
+        status = Status.COMPLETED;
+    }
+
+    void fail(String reason) {
+        failureReason = reason;
+        finishedAt = LocalDateTime.now();
+        status = Status.FAILED;
+    }
+}
@@ -0,0 +1,107 @@
+package com.primecrm.modules.crm;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+class ContactImportRepository {
+
+    private static final String INSERT_COMPANY_SQL = "INSERT INTO companies (id, name, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?)";
+
+    private static final String INSERT_CONTACT_SQL = "INSERT INTO contacts "
+            + "(id, first_name, last_name, email, phone, job_title, company_id, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    record NewContact(UUID id, String firstName, String lastName, String email, String phone, String jobTitle,
+            UUID companyId) {
+
+        // Detached copy for event listeners; the company is a reference carrying only its id.
+        Contact toContact() {
+            Company company = null;
+            if (companyId != null) {
+                company = Company.builder().build();
+                company.setId(companyId);
+            }
+            Contact contact = Contact.builder().firstName(firstName).lastName(lastName).email(email).phone(phone)
+                    .jobTitle(jobTitle).company(company).build();
+            contact.setId(id);
+            return contact;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    Map<String, UUID> loadCompanyIdsByName() {
+        Map<String, UUID> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT id, name FROM companies ORDER BY created_at", rs -> {
+            ids.putIfAbsent(companyKey(rs.getString(2)), rs.getObject(1, UUID.class));
+        });
+        return ids;
+    }
+
+    // Emails are stored as entered, so both sides are lower-cased; expects lower-cased input.
+    Set<String> findExistingEmails(Collection<String> emails) {
+        Set<String> existing = new HashSet<>();
+        if (emails.isEmpty()) {
+            return existing;
+        }
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(
+                    "SELECT DISTINCT lower(email) FROM contacts WHERE lower(email) = ANY (?)");
+            Array array = connection.createArrayOf("text", emails.toArray());
+            statement.setArray(1, array);
+            return statement;
+        }, rs -> {
+            existing.add(rs.getString(1));
+        });
+        return existing;
+    }
+
+    void insertCompanies(Map<UUID, String> namesById) {
+        if (namesById.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = namesById.entrySet().stream()
+                .map(e -> new Object[] { e.getKey(), e.getValue(), now, now })
+                .toList();
+        jdbcTemplate.batchUpdate(INSERT_COMPANY_SQL, rows);
+    }
+
+    void insertContacts(List<NewContact> contacts) {
+        if (contacts.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_CONTACT_SQL, contacts, contacts.size(), (ps, c) -> {
+            ps.setObject(1, c.id());
+            ps.setString(2, c.firstName());
+            ps.setString(3, c.lastName());
+            ps.setString(4, c.email());
+            ps.setString(5, c.phone());
+            ps.setString(6, c.jobTitle());
+            ps.setObject(7, c.companyId());
+            ps.setTimestamp(8, now);
+            ps.setTimestamp(9, now);
+        });
+    }
+
+    static String companyKey(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,71 @@
+package com.primecrm.modules.crm;
+
+import com.primecrm.core.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+public class ContactImportService {
+
+    private final ContactImporter importer;
+
+    private final Map<UUID, ContactImportJob> jobs = new ConcurrentHashMap<>();
+
+    // Finished jobs, with their error lists, are dropped this long after they end
+    @Value("${crm.import.job-retention:PT24H}")
+    private Duration jobRetention;
+
+    public ContactImportJob submit(MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("Import file is empty");
+        }
+        Path upload;
+        try {
+            upload = Files.createTempFile("contact-import-", ".csv");
+            file.transferTo(upload);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store import file", e);
+        }
+        evictFinished();
+        ContactImportJob job = new ContactImportJob(file.getOriginalFilename(), file.getSize());
+        jobs.put(job.getId(), job);
+        importer.run(job, upload);
+        return job;
+    }
+
+    public ContactImportJob getJob(UUID id) {
+        evictFinished();
+        ContactImportJob job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job not found with id: " + id);
+        }
+        return job;
+    }
+
+    public List<ContactImportJob> getJobs() {
+        evictFinished();
+        return jobs.values().stream()
+                .sorted(Comparator.comparing(ContactImportJob::getSubmittedAt).reversed())
+                .toList();
+    }
+
+    private void evictFinished() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(jobRetention);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+}
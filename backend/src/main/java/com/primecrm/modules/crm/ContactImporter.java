@@ -0,0 +1,203 @@
+package com.primecrm.modules.crm;
+
+import com.primecrm.core.CollectionVersions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ContactImporter {
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+$");
+    private static final int MAX_FIELD_LENGTH = 255;
+
+    private final ContactImportRepository importRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CollectionVersions collectionVersions;
+    private final ContactSearchIndex searchIndex;
+
+    @Value("${crm.import.batch-size:1000}")
+    private int batchSize;
+
+    record Row(long line, String firstName, String lastName, String email, String phone, String jobTitle,
+            String company) {
+    }
+
+    @Async
+    public void run(ContactImportJob job, Path file) {
+        job.start();
+        try (MappedCsvReader reader = new MappedCsvReader(file)) {
+            importRows(job, reader);
+            job.complete();
+            log.info("Contact import {} finished: {} imported, {} duplicates, {} rejected", job.getId(),
+                    job.getContactsImported(), job.getDuplicatesSkipped(), job.getRowsRejected());
+        } catch (Exception e) {
+            log.error("Contact import {} failed", job.getId(), e);
+            job.fail(e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete import file {}", file, e);
+            }
+        }
+    }
+
+    private void importRows(ContactImportJob job, MappedCsvReader reader) throws IOException {
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new IllegalArgumentException("Import file is empty");
+        }
+        Columns columns = Columns.of(header);
+        Map<String, UUID> companyIds = importRepository.loadCompanyIdsByName();
+
+        List<Row> batch = new ArrayList<>(batchSize);
+        long line = 1;
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            line++;
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            job.getRowsRead().incrementAndGet();
+            Row row = columns.toRow(line, record);
+            String problem = validate(row);
+            if (problem != null) {
+                job.reject(line, problem);
+                continue;
+            }
+            batch.add(row);
+            if (batch.size() >= batchSize) {
+                writeBatch(job, batch, companyIds);
+                batch.clear();
+                job.progress(reader.bytesRead());
+            }
+        }
+        writeBatch(job, batch, companyIds);
+    }
+
+    // Each batch commits on its own so progress survives a failure further down the file.
+    private void writeBatch(ContactImportJob job, List<Row> batch, Map<String, UUID> companyIds) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<String> emails = new HashSet<>();
+            for (Row row : batch) {
+                if (row.email() != null) {
+                    emails.add(row.email());
+                }
+            }
+            Set<String> seen = importRepository.findExistingEmails(emails);
+
+            Map<UUID, String> newCompanies = new LinkedHashMap<>();
+            List<ContactImportRepository.NewContact> contacts = new ArrayList<>(batch.size());
+            long duplicates = 0;
+            for (Row row : batch) {
+                if (row.email() != null && !seen.add(row.email())) {
+                    duplicates++;
+                    continue;
+                }
+                UUID companyId = null;
+                if (row.company() != null) {
+                    companyId = companyIds.computeIfAbsent(ContactImportRepository.companyKey(row.company()), key -> {
+                        UUID id = UUID.randomUUID();
+                        newCompanies.put(id, row.company());
+                        return id;
+                    });
+                }
+                contacts.add(new ContactImportRepository.NewContact(UUID.randomUUID(), row.firstName(),
+                        row.lastName(), row.email(), row.phone(), row.jobTitle(), companyId));
+            }
+
+            importRepository.insertCompanies(newCompanies);
+            importRepository.insertContacts(contacts);
+            searchIndex.putCompanies(newCompanies);
+            searchIndex.putContacts(contacts);
+            eventPublisher.publishEvent(new ContactEvents.ContactsImported(
+                    contacts.stream().map(ContactImportRepository.NewContact::toContact).toList(),
+                    newCompanies.entrySet().stream().map(e -> {
+                        Company company = Company.builder().name(e.getValue()).build();
+                        company.setId(e.getKey());
+                        return company;
+                    }).toList()));
+            collectionVersions.bump(ContactService.COLLECTION, CompanyService.COLLECTION);
+
+            job.getCompaniesCreated().addAndGet(newCompanies.size());
+            job.getContactsImported().addAndGet(contacts.size());
+            job.getDuplicatesSkipped().addAndGet(duplicates);
+        });
+    }
+
+    private static String validate(Row row) {
+        if (row.firstName() == null || row.lastName() == null) {
+            return "firstName and lastName are required";
+        }
+        if (row.email() != null && !EMAIL.matcher(row.email()).matches()) {
+            return "Invalid email: " + row.email();
+        }
+        for (String value : new String[] { row.firstName(), row.lastName(), row.email(), row.phone(),
+                row.jobTitle(), row.company() }) {
+            if (value != null && value.length() > MAX_FIELD_LENGTH) {
+                return "Value longer than " + MAX_FIELD_LENGTH + " characters";
+            }
+        }
+        return null;
+    }
+
+    private record Columns(int firstName, int lastName, int email, int phone, int jobTitle, int company) {
+
+        static Columns of(List<String> header) {
+            Map<String, Integer> index = new LinkedHashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                index.putIfAbsent(header.get(i).replaceAll("[^A-Za-z]", "").toLowerCase(Locale.ROOT), i);
+            }
+            Columns columns = new Columns(
+                    index.getOrDefault("firstname", -1),
+                    index.getOrDefault("lastname", -1),
+                    index.getOrDefault("email", -1),
+                    index.getOrDefault("phone", -1),
+                    index.getOrDefault("jobtitle", index.getOrDefault("title", -1)),
+                    index.getOrDefault("company", index.getOrDefault("companyname", -1)));
+            if (columns.firstName < 0 || columns.lastName < 0) {
+                throw new IllegalArgumentException("Header must contain firstName and lastName columns");
+            }
+            return columns;
+        }
+
+        Row toRow(long line, List<String> record) {
+            String email = value(record, this.email);
+            return new Row(line, value(record, firstName), value(record, lastName),
+                    email != null ? email.toLowerCase(Locale.ROOT) : null,
+                    value(record, phone), value(record, jobTitle), value(record, company));
+        }
+
+        private static String value(List<String> record, int column) {
+            if (column < 0 || column >= record.size()) {
+                return null;
+            }
+            String value = record.get(column).trim();
+            return value.isEmpty() ? null : value;
+        }
+    }
+}
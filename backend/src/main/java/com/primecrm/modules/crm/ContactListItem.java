@@ -0,0 +1,21 @@
+package com.primecrm.modules.crm;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Row of the contacts list; fields left out through ?fields= are null and omitted from the JSON.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ContactListItem(
+        UUID id,
+        String firstName,
+        String lastName,
+        String email,
+        String phone,
+        String jobTitle,
+        UUID companyId,
+        String companyName,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
@@ -0,0 +1,53 @@
+package com.primecrm.modules.crm;
+
+import com.primecrm.core.protobuf.PrimeCrmProto;
+import com.primecrm.core.protobuf.ProtoValues;
+import com.primecrm.core.search.CursorPage;
+
+final class ContactProtos {
+
+    private ContactProtos() {
+    }
+
+    static PrimeCrmProto.ContactList list(CursorPage<ContactListItem> page) {
+        PrimeCrmProto.ContactList.Builder list = PrimeCrmProto.ContactList.newBuilder();
+        page.items().forEach(item -> list.addItems(fromView(item)));
+        if (page.nextCursor() != null) {
+            list.setNextCursor(page.nextCursor());
+        }
+        return list.build();
+    }
+
+    static PrimeCrmProto.Contact fromView(ContactListItem item) {
+        PrimeCrmProto.Contact.Builder contact = PrimeCrmProto.Contact.newBuilder()
+                .setId(ProtoValues.uuid(item.id()));
+        if (item.firstName() != null) {
+            contact.setFirstName(item.firstName());
+        }
+        if (item.lastName() != null) {
+            contact.setLastName(item.lastName());
+        }
+        if (item.email() != null) {
+            contact.setEmail(item.email());
+        }
+        if (item.phone() != null) {
+            contact.setPhone(item.phone());
+        }
+        if (item.jobTitle() != null) {
+            contact.setJobTitle(item.jobTitle());
+        }
+        if (item.companyId() != null) {
+            contact.setCompanyId(ProtoValues.uuid(item.companyId()));
+        }
+        if (item.companyName() != null) {
+            contact.setCompanyName(item.companyName());
+        }
+        if (item.createdAt() != null) {
+            contact.setCreatedAt(ProtoValues.timestamp(item.createdAt()));
+        }
+        if (item.updatedAt() != null) {
+            contact.setUpdatedAt(ProtoValues.timestamp(item.updatedAt()));
+        }
+        return contact.build();
+    }
+}
@@ -11,8 +11,18 @@ public interface ContactRepository extends JpaRepository<Contact, UUID>,
 
     List<Contact> findByEmail(String email);
 
+    @org.springframework.data.jpa.repository.Query("SELECT c.id FROM Contact c WHERE c.company.id = :companyId")
+    List<UUID> findIdsByCompanyId(@org.springframework.data.repository.query.Param("companyId") UUID companyId);
+
     @org.springframework.data.jpa.repository.EntityGraph(attributePaths = "company")
     @Override
     @org.springframework.lang.NonNull
     List<Contact> findAll();
+
+    @org.springframework.data.jpa.repository.Query("SELECT c FROM Contact c LEFT JOIN FETCH c.company")
+    @org.springframework.data.jpa.repository.QueryHints({
+            @jakarta.persistence.QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = com.primecrm.core.export.StreamingExporter.FETCH_SIZE),
+            @jakarta.persistence.QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_READ_ONLY, value = "true"),
+            @jakarta.persistence.QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_CACHE_MODE, value = "IGNORE") })
+    java.util.stream.Stream<Contact> streamAll();
 }
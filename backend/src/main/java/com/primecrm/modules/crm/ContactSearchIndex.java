@@ -0,0 +1,175 @@
+package com.primecrm.modules.crm;
+
+import com.primecrm.core.RebuildableView;
+import com.primecrm.core.search.SearchCriteria;
+import com.primecrm.core.search.SearchSchema;
+import com.primecrm.core.search.TrigramIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+// In-memory trigram index over contact and company text columns. Substring criteria on those
+// columns are resolved to ids here, so the database only sees a primary-key lookup instead of
+// a LIKE '%value%' scan. Until the startup build finishes, or when a term matches more than
+// crm.search.index.max-matches rows, criteria fall through to the SearchSchema predicates.
+@Slf4j
+@Component
+public class ContactSearchIndex {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int maxMatches;
+
+    private final RebuildableView<Indexes> indexes = new RebuildableView<>(Indexes.empty());
+    private volatile boolean ready;
+
+    public ContactSearchIndex(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            @Value("${crm.search.index.max-matches:5000}") int maxMatches) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.maxMatches = maxMatches;
+    }
+
+    private record Indexes(TrigramIndex contacts, TrigramIndex companies) {
+
+        static Indexes empty() {
+            return new Indexes(new TrigramIndex("firstName", "lastName", "email", "jobTitle"),
+                    new TrigramIndex("name"));
+        }
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        Indexes fresh;
+        try {
+            fresh = indexes.rebuild(() -> readOnlyTransaction.execute(status -> {
+                Indexes loaded = Indexes.empty();
+                load("SELECT id, first_name, last_name, email, job_title FROM contacts", loaded.contacts());
+                load("SELECT id, name FROM companies", loaded.companies());
+                return loaded;
+            }));
+        } catch (RuntimeException e) {
+            log.error("Search index build failed, substring search stays on the database", e);
+            return;
+        }
+        ready = true;
+        log.info("Search index built in {} ms: {} contacts, {} companies", (System.nanoTime() - started) / 1_000_000,
+                fresh.contacts().size(), fresh.companies().size());
+    }
+
+    public void clear() {
+        indexes.afterCommit(current -> {
+            current.contacts().clear();
+            current.companies().clear();
+        });
+    }
+
+    void putContact(Contact contact) {
+        UUID id = contact.getId();
+        String firstName = contact.getFirstName();
+        String lastName = contact.getLastName();
+        String email = contact.getEmail();
+        String jobTitle = contact.getJobTitle();
+        indexes.afterCommit(current -> current.contacts().put(id, firstName, lastName, email, jobTitle));
+    }
+
+    void putContacts(List<ContactImportRepository.NewContact> contacts) {
+        indexes.afterCommit(current -> contacts.forEach(contact -> current.contacts().put(contact.id(),
+                contact.firstName(), contact.lastName(), contact.email(), contact.jobTitle())));
+    }
+
+    void removeContact(UUID id) {
+        indexes.afterCommit(current -> current.contacts().remove(id));
+    }
+
+    void putCompany(Company company) {
+        UUID id = company.getId();
+        String name = company.getName();
+        indexes.afterCommit(current -> current.companies().put(id, name));
+    }
+
+    void putCompanies(Map<UUID, String> namesById) {
+        indexes.afterCommit(current -> namesById.forEach((id, name) -> current.companies().put(id, name)));
+    }
+
+    Specification<Contact> contactSpecification(List<SearchCriteria> criteriaList, SearchSchema<Contact> schema) {
+        return specification(criteriaList, true, schema);
+    }
+
+    Specification<Company> companySpecification(List<SearchCriteria> criteriaList, SearchSchema<Company> schema) {
+        return specification(criteriaList, false, schema);
+    }
+
+    // Indexed fields are all in the schema, so every criterion is still checked against the whitelist.
+    private <T> Specification<T> specification(List<SearchCriteria> criteriaList, boolean contacts,
+            SearchSchema<T> schema) {
+        List<SearchCriteria> remaining = new ArrayList<>();
+        Set<UUID> ids = null;
+        for (SearchCriteria criteria : criteriaList) {
+            Set<UUID> matches = match(criteria, contacts);
+            if (matches == null) {
+                remaining.add(criteria);
+            } else if (ids == null) {
+                ids = matches;
+            } else {
+                ids.retainAll(matches);
+            }
+        }
+        Specification<T> spec = schema.toSpecification(remaining);
+        if (ids == null) {
+            return spec;
+        }
+        Set<UUID> resolved = ids;
+        return spec.and((root, query, builder) -> resolved.isEmpty()
+                ? builder.disjunction()
+                : root.get("id").in(resolved));
+    }
+
+    // Null when the index cannot answer and the criterion has to go to the database.
+    Set<UUID> match(SearchCriteria criteria, boolean contacts) {
+        if (!ready || !":".equals(criteria.getOperation()) || !(criteria.getValue() instanceof String value)) {
+            return null;
+        }
+        return indexes.read(current -> {
+            TrigramIndex index = contacts ? current.contacts() : current.companies();
+            if (!index.indexes(criteria.getKey())) {
+                return null;
+            }
+            Set<UUID> matches = index.search(criteria.getKey(), value, maxMatches);
+            return matches != null ? new HashSet<>(matches) : null;
+        });
+    }
+
+    private void load(String sql, TrigramIndex index) {
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(sql);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, rs -> {
+            String[] values = new String[rs.getMetaData().getColumnCount() - 1];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = rs.getString(i + 2);
+            }
+            index.put(rs.getObject(1, UUID.class), values);
+        });
+    }
+}
@@ -1,35 +1,74 @@
 package com.primecrm.modules.crm;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import com.primecrm.core.CollectionVersions;
 import com.primecrm.core.exception.ResourceNotFoundException;
 import com.primecrm.core.search.SearchCriteria;
-import com.primecrm.core.search.BaseSpecification;
+import com.primecrm.core.search.SearchSchema;
+import com.primecrm.core.search.CursorPage;
+import com.primecrm.core.search.CursorPageRequest;
+import com.primecrm.core.search.Facets;
+import com.primecrm.core.search.KeysetPagination;
+import com.primecrm.core.search.Projection;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class ContactService {
 
+    public static final String COLLECTION = "contacts";
+
+    public static final Set<String> SORTABLE_FIELDS = Set.of("firstName", "lastName");
+
+    public static final SearchSchema<Contact> SEARCH_FIELDS = SearchSchema.of(Contact.class)
+            .field("firstName")
+            .field("lastName")
+            .field("email")
+            .field("phone")
+            .field("jobTitle")
+            .field("createdAt");
+
+    public static final Facets<Contact> FACETS = Facets.of(Contact.class)
+            .terms("company", "company.id", "company.name")
+            .terms("jobTitle", "jobTitle");
+
+    public static final Projection<Contact, ContactListItem> LIST_VIEW = Projection
+            .of(Contact.class, ContactListItem.class)
+            .path("companyId", "company.id")
+            .path("companyName", "company.name")
+            .optional("updatedAt");
+
     private final ContactRepository contactRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final CollectionVersions collectionVersions;
+    private final ContactSearchIndex searchIndex;
+
+    public CursorPage<ContactListItem> searchContacts(List<SearchCriteria> criteriaList, CursorPageRequest page,
+            String fields) {
+        Specification<Contact> spec = searchIndex.contactSpecification(criteriaList, SEARCH_FIELDS);
+        return KeysetPagination.fetch(entityManager, LIST_VIEW, spec, page, fields);
+    }
 
-    public List<Contact> searchContacts(List<SearchCriteria> criteriaList) {
-        if (criteriaList == null || criteriaList.isEmpty()) {
-            return getAllContacts();
-        }
-        Specification<Contact> spec = Specification.where(null);
-        for (SearchCriteria criteria : criteriaList) {
-            spec = spec.and(new BaseSpecification<>(criteria));
-        }
-        return contactRepository.findAll(spec);
+    @Transactional(readOnly = true)
+    public Map<String, Facets.Result> countContactFacets(List<SearchCriteria> criteriaList, String facets,
+            Integer buckets) {
+        return FACETS.count(entityManager, searchIndex.contactSpecification(criteriaList, SEARCH_FIELDS), facets,
+                buckets);
     }
 
-    public List<Contact> getAllContacts() {
-        return contactRepository.findAll();
+    // Must be consumed inside a transaction, see StreamingExporter
+    public java.util.stream.Stream<Contact> streamAllContacts() {
+        return contactRepository.streamAll();
     }
 
     public Contact getContact(@lombok.NonNull UUID id) {
@@ -39,7 +78,11 @@ public class ContactService {
 
     @Transactional
     public Contact createContact(@lombok.NonNull Contact contact) {
-        return contactRepository.save(contact);
+        Contact saved = contactRepository.save(contact);
+        eventPublisher.publishEvent(new ContactEvents.ContactCreated(saved));
+        searchIndex.putContact(saved);
+        collectionVersions.bump(COLLECTION);
+        return saved;
     }
 
     public long countContacts() {
@@ -48,9 +91,11 @@ public class ContactService {
 
     @Transactional
     public void deleteContact(@lombok.NonNull UUID id) {
-        if (!contactRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Contact not found with id: " + id);
-        }
-        contactRepository.deleteById(id);
+        Contact contact = contactRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Contact not found with id: " + id));
+        contactRepository.delete(contact);
+        eventPublisher.publishEvent(new ContactEvents.ContactDeleted(contact));
+        searchIndex.removeContact(id);
+        collectionVersions.bump(COLLECTION);
     }
 }
@@ -0,0 +1,302 @@
+package com.primecrm.modules.crm;
+
+import com.primecrm.core.RebuildableView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Finds likely duplicate contacts. A scan loads every contact once, groups them by blocking key
+// and scores the pairs inside each block on a fork/join pool with one worker per core. The
+// blocks are kept afterwards, so each new contact is only scored against the contacts that
+// share one of its keys. Pending pairs are replaced on every scan; reviewed pairs are kept.
+// The blocks are also loaded, without scoring, once the application is ready, so new contacts
+// are checked after a restart without waiting for a scan.
+@Slf4j
+@Component
+public class DuplicateDetector {
+
+    private static final int FETCH_SIZE = 1000;
+    private static final int WRITE_BATCH_SIZE = 1000;
+    private static final int BLOCKS_PER_TASK = 256;
+
+    private static final String INSERT_SQL = "INSERT INTO contact_duplicates "
+            + "(id, contact_id, duplicate_id, score, reasons, status, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, 'PENDING', ?, ?) ON CONFLICT (contact_id, duplicate_id) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final double threshold;
+    private final int maxBlockSize;
+
+    // Holds null until the blocks are first loaded; contacts created before then are only found by a scan.
+    private final RebuildableView<Map<String, List<DuplicateMatcher.Candidate>>> blocks =
+            new RebuildableView<>(null);
+    // Held while the blocks are built, so the startup load and a scan never build them at once.
+    private final Lock building = new ReentrantLock();
+
+    public DuplicateDetector(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            @Value("${crm.duplicates.threshold:0.85}") double threshold,
+            @Value("${crm.duplicates.max-block-size:1000}") int maxBlockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.threshold = threshold;
+        this.maxBlockSize = maxBlockSize;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadBlocks() {
+        building.lock();
+        try {
+            if (blocks.read(current -> current != null)) {
+                return;
+            }
+            blocks.rebuild(() -> {
+                Map<String, List<DuplicateMatcher.Candidate>> built = new HashMap<>();
+                long contacts = load(built);
+                log.info("Duplicate blocks loaded: {} contacts in {} blocks", contacts, built.size());
+                return built;
+            });
+        } catch (RuntimeException e) {
+            log.error("Loading duplicate blocks failed, new contacts are checked after the next scan", e);
+        } finally {
+            building.unlock();
+        }
+    }
+
+    @Async
+    public void run(DuplicateScan scan) {
+        building.lock();
+        try {
+            blocks.rebuild(() -> {
+                Map<String, List<DuplicateMatcher.Candidate>> built = new HashMap<>();
+                long contacts = load(built);
+                List<Map.Entry<String, List<DuplicateMatcher.Candidate>>> scored = new ArrayList<>();
+                long oversized = 0;
+                for (Map.Entry<String, List<DuplicateMatcher.Candidate>> block : built.entrySet()) {
+                    int size = block.getValue().size();
+                    if (size > maxBlockSize) {
+                        oversized++;
+                    } else if (size > 1) {
+                        scored.add(block);
+                    }
+                }
+                scan.loaded(contacts, scored.size(), oversized);
+
+                LongAdder comparisons = new LongAdder();
+                ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+                List<DuplicateMatcher.Match> matches;
+                try {
+                    matches = pool.invoke(new ScoreBlocks(scored, 0, scored.size(), comparisons));
+                } finally {
+                    pool.shutdown();
+                }
+                // Contacts created during the scan are checked again against the new blocks once they
+                // are swapped in, so their pairs survive this delete.
+                replacePending(matches);
+                scan.complete(comparisons.sum(), matches.size());
+                log.info("Duplicate scan {} finished: {} contacts, {} comparisons, {} pairs, {} blocks over {}",
+                        scan.getId(), contacts, comparisons.sum(), matches.size(), oversized, maxBlockSize);
+                return built;
+            });
+        } catch (RuntimeException e) {
+            log.error("Duplicate scan {} failed", scan.getId(), e);
+            scan.fail(e.getMessage());
+        } finally {
+            building.unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onContactCreated(ContactEvents.ContactCreated event) {
+        check(candidate(event.contact()));
+    }
+
+    @TransactionalEventListener
+    public void onContactsImported(ContactEvents.ContactsImported event) {
+        event.contacts().forEach(contact -> check(candidate(contact)));
+    }
+
+    @TransactionalEventListener
+    public void onContactDeleted(ContactEvents.ContactDeleted event) {
+        UUID id = event.contact().getId();
+        List<String> keys = candidate(event.contact()).keys();
+        blocks.apply(current -> {
+            if (current != null) {
+                for (String key : keys) {
+                    List<DuplicateMatcher.Candidate> block = current.get(key);
+                    if (block != null) {
+                        block.removeIf(candidate -> candidate.id().equals(id));
+                    }
+                }
+            }
+        });
+        jdbcTemplate.update("DELETE FROM contact_duplicates WHERE contact_id = ? OR duplicate_id = ?", id, id);
+    }
+
+    // Scores the candidate against the contacts sharing one of its keys and adds it to those blocks.
+    // Replayed onto the blocks of a rebuild that was running meanwhile, which may already hold the
+    // contact when the load read it after its commit; it is then neither added again nor scored
+    // against itself. The pairs are inserted with ON CONFLICT DO NOTHING, so a pair found twice is
+    // stored once.
+    void check(DuplicateMatcher.Candidate candidate) {
+        blocks.apply(current -> {
+            if (current != null) {
+                insert(add(current, candidate));
+            }
+        });
+    }
+
+    private List<DuplicateMatcher.Match> add(Map<String, List<DuplicateMatcher.Candidate>> current,
+            DuplicateMatcher.Candidate candidate) {
+        List<DuplicateMatcher.Match> matches = new ArrayList<>();
+        Set<UUID> compared = new HashSet<>();
+        compared.add(candidate.id());
+        for (String key : candidate.keys()) {
+            List<DuplicateMatcher.Candidate> block = current.computeIfAbsent(key, k -> new ArrayList<>());
+            boolean scored = block.size() <= maxBlockSize;
+            boolean present = false;
+            for (DuplicateMatcher.Candidate other : block) {
+                if (other.id().equals(candidate.id())) {
+                    present = true;
+                } else if (scored && compared.add(other.id())) {
+                    DuplicateMatcher.Match match = DuplicateMatcher.score(candidate, other, threshold);
+                    if (match != null) {
+                        matches.add(match);
+                    }
+                }
+            }
+            if (!present) {
+                block.add(candidate);
+            }
+        }
+        return matches;
+    }
+
+    private static DuplicateMatcher.Candidate candidate(Contact contact) {
+        return DuplicateMatcher.candidate(contact.getId(), contact.getFirstName(), contact.getLastName(),
+                contact.getEmail(), contact.getPhone(),
+                contact.getCompany() != null ? contact.getCompany().getId() : null);
+    }
+
+    // Blocks are scored independently, so the only coordination is joining the result lists.
+    private final class ScoreBlocks extends RecursiveTask<List<DuplicateMatcher.Match>> {
+
+        private final List<Map.Entry<String, List<DuplicateMatcher.Candidate>>> blocks;
+        private final int from;
+        private final int to;
+        private final LongAdder comparisons;
+
+        ScoreBlocks(List<Map.Entry<String, List<DuplicateMatcher.Candidate>>> blocks, int from, int to,
+                LongAdder comparisons) {
+            this.blocks = blocks;
+            this.from = from;
+            this.to = to;
+            this.comparisons = comparisons;
+        }
+
+        @Override
+        protected List<DuplicateMatcher.Match> compute() {
+            if (to - from > BLOCKS_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                ScoreBlocks left = new ScoreBlocks(blocks, from, middle, comparisons);
+                left.fork();
+                List<DuplicateMatcher.Match> right = new ScoreBlocks(blocks, middle, to, comparisons).compute();
+                List<DuplicateMatcher.Match> matches = new ArrayList<>(left.join());
+                matches.addAll(right);
+                return matches;
+            }
+            List<DuplicateMatcher.Match> matches = new ArrayList<>();
+            long compared = 0;
+            for (int b = from; b < to; b++) {
+                String key = blocks.get(b).getKey();
+                List<DuplicateMatcher.Candidate> members = blocks.get(b).getValue();
+                for (int i = 0; i < members.size(); i++) {
+                    for (int j = i + 1; j < members.size(); j++) {
+                        DuplicateMatcher.Candidate a = members.get(i);
+                        DuplicateMatcher.Candidate c = members.get(j);
+                        // A pair sharing several keys is scored once, in the block of its first shared key.
+                        if (DuplicateMatcher.firstSharedKey(a, c, key)) {
+                            compared++;
+                            DuplicateMatcher.Match match = DuplicateMatcher.score(a, c, threshold);
+                            if (match != null) {
+                                matches.add(match);
+                            }
+                        }
+                    }
+                }
+            }
+            comparisons.add(compared);
+            return matches;
+        }
+    }
+
+    private long load(Map<String, List<DuplicateMatcher.Candidate>> built) {
+        long[] count = new long[1];
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(
+                    "SELECT id, first_name, last_name, email, phone, company_id FROM contacts");
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, rs -> {
+            DuplicateMatcher.Candidate candidate = DuplicateMatcher.candidate(rs.getObject(1, UUID.class),
+                    rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5),
+                    rs.getObject(6, UUID.class));
+            for (String key : candidate.keys()) {
+                built.computeIfAbsent(key, k -> new ArrayList<>(2)).add(candidate);
+            }
+            count[0]++;
+        }));
+        return count[0];
+    }
+
+    private void replacePending(List<DuplicateMatcher.Match> matches) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM contact_duplicates WHERE status = 'PENDING'");
+            for (int i = 0; i < matches.size(); i += WRITE_BATCH_SIZE) {
+                insert(matches.subList(i, Math.min(matches.size(), i + WRITE_BATCH_SIZE)));
+            }
+        });
+    }
+
+    private void insert(List<DuplicateMatcher.Match> matches) {
+        if (matches.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, matches, matches.size(), (ps, match) -> {
+            ps.setObject(1, UUID.randomUUID());
+            ps.setObject(2, match.contactId());
+            ps.setObject(3, match.duplicateId());
+            ps.setDouble(4, match.score());
+            ps.setString(5, match.reasons());
+            ps.setTimestamp(6, now);
+            ps.setTimestamp(7, now);
+        });
+    }
+}
@@ -0,0 +1,229 @@
+package com.primecrm.modules.crm;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+// Normalisation, blocking keys and pair scoring for duplicate detection. Two contacts are only
+// scored when they share a blocking key, which keeps the work close to linear in the number
+// of contacts instead of quadratic.
+final class DuplicateMatcher {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALNUM = Pattern.compile("[^a-z0-9 ]+");
+    private static final Pattern NON_DIGIT = Pattern.compile("\\D+");
+    private static final int PHONE_DIGITS = 9;
+    private static final int MIN_PHONE_DIGITS = 7;
+
+    private DuplicateMatcher() {
+    }
+
+    record Candidate(UUID id, String firstName, String lastName, String email, String phone, UUID companyId,
+            List<String> keys) {
+    }
+
+    record Match(UUID contactId, UUID duplicateId, double score, String reasons) {
+    }
+
+    static Candidate candidate(UUID id, String firstName, String lastName, String email, String phone,
+            UUID companyId) {
+        String first = name(firstName);
+        String last = name(lastName);
+        String normalizedEmail = email(email);
+        String normalizedPhone = phone(phone);
+
+        // Ordered; pairs are scored in the block of the first key they share, see firstSharedKey.
+        List<String> keys = new ArrayList<>(4);
+        if (normalizedEmail != null) {
+            keys.add("e|" + normalizedEmail);
+            keys.add("l|" + normalizedEmail.substring(0, normalizedEmail.indexOf('@')));
+        }
+        if (normalizedPhone != null) {
+            keys.add("p|" + normalizedPhone);
+        }
+        if (!last.isEmpty()) {
+            keys.add("n|" + soundex(last) + (first.isEmpty() ? "" : first.charAt(0)));
+        }
+        return new Candidate(id, first, last, normalizedEmail, normalizedPhone, companyId, List.copyOf(keys));
+    }
+
+    static boolean firstSharedKey(Candidate a, Candidate b, String key) {
+        for (String candidateKey : a.keys()) {
+            if (b.keys().contains(candidateKey)) {
+                return candidateKey.equals(key);
+            }
+        }
+        return false;
+    }
+
+    // Null when the pair scores below the threshold.
+    static Match score(Candidate a, Candidate b, double threshold) {
+        if (a.id().equals(b.id())) {
+            return null;
+        }
+        List<String> reasons = new ArrayList<>(4);
+        double score;
+        if (a.email() != null && a.email().equals(b.email())) {
+            score = 1.0;
+            reasons.add("email");
+        } else {
+            double name = Math.max(jaroWinkler(a.firstName() + " " + a.lastName(), b.firstName() + " " + b.lastName()),
+                    jaroWinkler(a.firstName() + " " + a.lastName(), b.lastName() + " " + b.firstName()));
+            score = 0.6 * name;
+            if (name >= 0.9) {
+                reasons.add("name");
+            }
+            if (a.phone() != null && a.phone().equals(b.phone())) {
+                score += 0.3;
+                reasons.add("phone");
+            }
+            if (a.email() != null && b.email() != null && similarEmail(a.email(), b.email())) {
+                score += 0.3;
+                reasons.add("similar email");
+            }
+            if (a.companyId() != null && a.companyId().equals(b.companyId())) {
+                score += 0.3;
+                reasons.add("company");
+            }
+            score = Math.min(score, 1.0);
+        }
+        if (score < threshold) {
+            return null;
+        }
+        // Stored with the smaller id first so a pair has one row whichever side found it.
+        boolean ordered = a.id().compareTo(b.id()) < 0;
+        return new Match(ordered ? a.id() : b.id(), ordered ? b.id() : a.id(), Math.round(score * 1000) / 1000.0,
+                String.join(",", reasons));
+    }
+
+    static String name(String value) {
+        if (value == null) {
+            return "";
+        }
+        String stripped = MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALNUM.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll("").trim().replaceAll("\\s+", " ");
+    }
+
+    // Lower-cased, with any +tag removed from the local part.
+    static String email(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String email = value.trim().toLowerCase(Locale.ROOT);
+        int at = email.indexOf('@');
+        if (at <= 0) {
+            return null;
+        }
+        int plus = email.indexOf('+');
+        return plus > 0 && plus < at ? email.substring(0, plus) + email.substring(at) : email;
+    }
+
+    // The trailing digits only, so "+1 (555) 010-2000" and "555.010.2000" agree.
+    static String phone(String value) {
+        if (value == null) {
+            return null;
+        }
+        String digits = NON_DIGIT.matcher(value).replaceAll("");
+        if (digits.length() < MIN_PHONE_DIGITS) {
+            return null;
+        }
+        return digits.length() > PHONE_DIGITS ? digits.substring(digits.length() - PHONE_DIGITS) : digits;
+    }
+
+    static String soundex(String value) {
+        StringBuilder code = new StringBuilder(4);
+        char previous = 0;
+        for (int i = 0; i < value.length() && code.length() < 4; i++) {
+            char c = value.charAt(i);
+            if (c < 'a' || c > 'z') {
+                continue;
+            }
+            char digit = "01230120022455012623010202".charAt(c - 'a');
+            if (code.isEmpty()) {
+                code.append(Character.toUpperCase(c));
+            } else if (digit != '0' && digit != previous) {
+                code.append(digit);
+            }
+            if (c != 'h' && c != 'w') {
+                previous = digit;
+            }
+        }
+        while (!code.isEmpty() && code.length() < 4) {
+            code.append('0');
+        }
+        return code.toString();
+    }
+
+    static double jaroWinkler(String a, String b) {
+        if (Objects.equals(a, b)) {
+            return 1.0;
+        }
+        int window = Math.max(0, Math.max(a.length(), b.length()) / 2 - 1);
+        boolean[] aMatched = new boolean[a.length()];
+        boolean[] bMatched = new boolean[b.length()];
+        int matches = 0;
+        for (int i = 0; i < a.length(); i++) {
+            for (int j = Math.max(0, i - window); j < Math.min(b.length(), i + window + 1); j++) {
+                if (!bMatched[j] && a.charAt(i) == b.charAt(j)) {
+                    aMatched[i] = true;
+                    bMatched[j] = true;
+                    matches++;
+                    break;
+                }
+            }
+        }
+        if (matches == 0) {
+            return 0.0;
+        }
+        int transpositions = 0;
+        for (int i = 0, j = 0; i < a.length(); i++) {
+            if (aMatched[i]) {
+                while (!bMatched[j]) {
+                    j++;
+                }
+                if (a.charAt(i) != b.charAt(j)) {
+                    transpositions++;
+                }
+                j++;
+            }
+        }
+        double m = matches;
+        double jaro = (m / a.length() + m / b.length() + (m - transpositions / 2.0) / m) / 3.0;
+        int prefix = 0;
+        while (prefix < Math.min(4, Math.min(a.length(), b.length())) && a.charAt(prefix) == b.charAt(prefix)) {
+            prefix++;
+        }
+        return jaro + prefix * 0.1 * (1 - jaro);
+    }
+
+    // Same local part, or at most one edit apart (a typo in either part).
+    private static boolean similarEmail(String a, String b) {
+        if (a.substring(0, a.indexOf('@')).equals(b.substring(0, b.indexOf('@')))) {
+            return true;
+        }
+        return Math.abs(a.length() - b.length()) <= 1 && editDistance(a, b) <= 1;
+    }
+
+    private static int editDistance(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
@@ -0,0 +1,45 @@
+package com.primecrm.modules.crm;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+public class DuplicateScan {
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    private final UUID id = UUID.randomUUID();
+    private final LocalDateTime startedAt = LocalDateTime.now();
+
+    private volatile Status status = Status.RUNNING;
+    private volatile LocalDateTime finishedAt;
+    private volatile String failureReason;
+    private volatile long contactsScanned;
+    private volatile long blocks;
+    private volatile long oversizedBlocks;
+    private volatile long comparisons;
+    private volatile long duplicatesFound;
+
+    void loaded(long contacts, long blocks, long oversizedBlocks) {
+        this.contactsScanned = contacts;
+        this.blocks = blocks;
+        this.oversizedBlocks = oversizedBlocks;
+    }
+
+    void complete(long comparisons, long duplicates) {
+        this.comparisons = comparisons;
+        this.duplicatesFound = duplicates;
+        this.finishedAt = LocalDateTime.now();
+        this.status = Status.COMPLETED;
+    }
+
+    void fail(String reason) {
+        this.failureReason = reason;
+        this.finishedAt = LocalDateTime.now();
+        this.status = Status.FAILED;
+    }
+}
@@ -0,0 +1,143 @@
+package com.primecrm.modules.crm;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Reads RFC 4180 CSV straight from a memory-mapped file, one window at a time. Delimiters
+// are ASCII so records can be split on raw bytes; only field values are decoded as UTF-8.
+final class MappedCsvReader implements Closeable {
+
+    static final long DEFAULT_WINDOW = 64L * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long size;
+    private final long window;
+
+    private MappedByteBuffer buffer;
+    private long windowStart;
+    private byte[] field = new byte[256];
+    private int fieldLength;
+
+    MappedCsvReader(Path file) throws IOException {
+        this(file, DEFAULT_WINDOW);
+    }
+
+    MappedCsvReader(Path file, long window) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.window = window;
+    }
+
+    long bytesRead() {
+        return buffer == null ? 0 : windowStart + buffer.position();
+    }
+
+    long size() {
+        return size;
+    }
+
+    List<String> next() throws IOException {
+        if (buffer == null) {
+            if (size == 0) {
+                return null;
+            }
+            map(0);
+            skipByteOrderMark();
+        }
+        while (true) {
+            if (!buffer.hasRemaining()) {
+                if (isLastWindow()) {
+                    return null;
+                }
+                map(windowStart + buffer.limit());
+            }
+            int start = buffer.position();
+            List<String> record = parseRecord(isLastWindow());
+            if (record != null) {
+                return record;
+            }
+            if (start == 0) {
+                throw new IOException("CSV record at byte " + windowStart + " is larger than " + window + " bytes");
+            }
+            map(windowStart + start);
+        }
+    }
+
+    // Returns null when the window ends before the record does and more of the file follows.
+    private List<String> parseRecord(boolean lastWindow) {
+        List<String> fields = new ArrayList<>();
+        fieldLength = 0;
+        boolean quoted = false;
+        while (buffer.hasRemaining()) {
+            byte b = buffer.get();
+            if (quoted) {
+                if (b != '"') {
+                    append(b);
+                } else if (!buffer.hasRemaining() && !lastWindow) {
+                    return null;
+                } else if (buffer.hasRemaining() && buffer.get(buffer.position()) == '"') {
+                    append(b);
+                    buffer.position(buffer.position() + 1);
+                } else {
+                    quoted = false;
+                }
+            } else if (b == '"') {
+                quoted = true;
+            } else if (b == ',') {
+                fields.add(takeField());
+            } else if (b == '\n') {
+                fields.add(takeField());
+                return fields;
+            } else if (b != '\r') {
+                append(b);
+            }
+        }
+        if (!lastWindow) {
+            return null;
+        }
+        fields.add(takeField());
+        return fields;
+    }
+
+    private void append(byte b) {
+        if (fieldLength == field.length) {
+            field = Arrays.copyOf(field, field.length * 2);
+        }
+        field[fieldLength++] = b;
+    }
+
+    private String takeField() {
+        String value = new String(field, 0, fieldLength, StandardCharsets.UTF_8);
+        fieldLength = 0;
+        return value;
+    }
+
+    private void map(long from) throws IOException {
+        windowStart = from;
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, from, Math.min(window, size - from));
+    }
+
+    private boolean isLastWindow() {
+        return windowStart + buffer.limit() >= size;
+    }
+
+    private void skipByteOrderMark() {
+        if (buffer.remaining() >= 3 && (buffer.get(0) & 0xFF) == 0xEF && (buffer.get(1) & 0xFF) == 0xBB
+                && (buffer.get(2) & 0xFF) == 0xBF) {
+            buffer.position(3);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
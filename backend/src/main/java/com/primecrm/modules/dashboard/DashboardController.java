@@ -1,38 +1,30 @@
 package com.primecrm.modules.dashboard;
 
-import com.primecrm.modules.crm.ContactService;
-import com.primecrm.modules.sales.DealService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-
-import java.math.BigDecimal;
-import java.util.HashMap;
-import java.util.Map;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/dashboard")
 @RequiredArgsConstructor
 public class DashboardController {
 
-    private final ContactService contactService;
-    private final DealService dealService;
+    private final DashboardStatsStore statsStore;
+    private final DashboardStatsLoader statsLoader;
+    private final DashboardStreamPublisher streamPublisher;
 
     @GetMapping("/stats")
-    @org.springframework.cache.annotation.Cacheable("dashboardStats")
-    public ResponseEntity<Map<String, Object>> getDashboardStats() {
-        long contactCount = contactService.countContacts();
-        long dealCount = dealService.countDeals();
-        BigDecimal totalRevenue = dealService.calculateTotalRevenue();
-
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalRevenue", totalRevenue);
-        stats.put("activeDeals", dealCount);
-        stats.put("newContacts", contactCount);
-        stats.put("upcomingTasks", 0); // Placeholder for now
+    public ResponseEntity<DashboardStats> getDashboardStats(@RequestParam(defaultValue = "false") boolean fresh) {
+        return ResponseEntity.ok(fresh ? statsLoader.loadFresh() : statsStore.getStats());
+    }
 
-        return ResponseEntity.ok(stats);
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDashboard() {
+        return streamPublisher.subscribe();
     }
 }
@@ -0,0 +1,18 @@
+package com.primecrm.modules.dashboard;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+public record DashboardStats(
+        BigDecimal totalRevenue,
+        long activeDeals,
+        long newContacts,
+        long upcomingTasks,
+        Set<String> stale) {
+
+    public static final DashboardStats EMPTY = new DashboardStats(BigDecimal.ZERO, 0, 0, 0, Set.of());
+
+    public DashboardStats(BigDecimal totalRevenue, long activeDeals, long newContacts, long upcomingTasks) {
+        this(totalRevenue, activeDeals, newContacts, upcomingTasks, Set.of());
+    }
+}
@@ -0,0 +1,73 @@
+package com.primecrm.modules.dashboard;
+
+import com.primecrm.modules.activity.ActivityService;
+import com.primecrm.modules.crm.ContactService;
+import com.primecrm.modules.sales.DealService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Component
+@RequiredArgsConstructor
+public class DashboardStatsLoader {
+
+    private final ContactService contactService;
+    private final DealService dealService;
+    private final ActivityService activityService;
+    private final DashboardStatsStore statsStore;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${dashboard.stats.deadline:PT0.5S}")
+    private Duration deadline;
+
+    // Upcoming tasks come from memory and are always fresh
+    @Value("${dashboard.stats.upcoming-days:7}")
+    private int upcomingDays;
+
+    public DashboardStats loadFresh() {
+        DashboardStats lastKnown = statsStore.getStats();
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+
+        Future<BigDecimal> revenue = executor.submit(dealService::calculateTotalRevenue);
+        Future<Long> deals = executor.submit(dealService::countDeals);
+        Future<Long> contacts = executor.submit(contactService::countContacts);
+
+        Set<String> stale = new TreeSet<>();
+        return new DashboardStats(
+                await(revenue, deadlineNanos, lastKnown.totalRevenue(), "totalRevenue", stale),
+                await(deals, deadlineNanos, lastKnown.activeDeals(), "activeDeals", stale),
+                await(contacts, deadlineNanos, lastKnown.newContacts(), "newContacts", stale),
+                activityService.countUpcomingTasks(null, upcomingDays),
+                Set.copyOf(stale));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static <T> T await(Future<T> future, long deadlineNanos, T fallback, String name, Set<String> stale) {
+        try {
+            return future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            future.cancel(true);
+        }
+        stale.add(name);
+        return fallback;
+    }
+}
@@ -0,0 +1,197 @@
+package com.primecrm.modules.dashboard;
+
+import com.primecrm.modules.activity.Activity;
+import com.primecrm.modules.activity.ActivityEvents;
+import com.primecrm.modules.activity.ActivityService;
+import com.primecrm.modules.crm.ContactEvents;
+import com.primecrm.modules.crm.ContactService;
+import com.primecrm.modules.sales.Deal;
+import com.primecrm.modules.sales.DealEvents;
+import com.primecrm.modules.sales.DealService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+public class DashboardStatsStore {
+
+    private static final int MAX_RECONCILE_ATTEMPTS = 3;
+
+    private final ContactService contactService;
+    private final DealService dealService;
+    private final ActivityService activityService;
+
+    private final EnumMap<Deal.DealStage, Long> dealsByStage = new EnumMap<>(Deal.DealStage.class);
+    private BigDecimal totalRevenue = BigDecimal.ZERO;
+    private long dealCount;
+    private long contactCount;
+    // Count-changing events applied so far, so reconcile can tell whether one landed during its read.
+    private long deltas;
+
+    @Value("${dashboard.stats.upcoming-days:7}")
+    private int upcomingDays;
+
+    private volatile DashboardStats stats = DashboardStats.EMPTY;
+    private volatile Map<String, Long> pipeline = Collections.emptyMap();
+    private volatile long version;
+
+    public DashboardStats getStats() {
+        return stats;
+    }
+
+    public Map<String, Long> getPipelineDistribution() {
+        return pipeline;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    // The counts are read outside the lock, and a delta applied meanwhile may or may not be in them,
+    // so such a read is thrown away and retried. If every attempt races a delta, the running totals
+    // are kept until the next run.
+    @Scheduled(fixedDelayString = "${dashboard.stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        for (int attempt = 0; attempt < MAX_RECONCILE_ATTEMPTS; attempt++) {
+            long seen;
+            synchronized (this) {
+                seen = deltas;
+            }
+            List<Object[]> stageSummary = dealService.summarizeByStage();
+            long contacts = contactService.countContacts();
+
+            synchronized (this) {
+                if (deltas == seen) {
+                    dealsByStage.clear();
+                    totalRevenue = BigDecimal.ZERO;
+                    dealCount = 0;
+                    for (Object[] row : stageSummary) {
+                        Deal.DealStage stage = (Deal.DealStage) row[0];
+                        long count = ((Number) row[1]).longValue();
+                        dealsByStage.put(stage, count);
+                        dealCount += count;
+                        totalRevenue = totalRevenue.add((BigDecimal) row[2]);
+                    }
+                    contactCount = contacts;
+                    // Also rolls tasks into the upcoming window as days pass
+                    publish();
+                    return;
+                }
+            }
+        }
+        synchronized (this) {
+            publish();
+        }
+    }
+
+    @TransactionalEventListener
+    public synchronized void onDealCreated(DealEvents.DealCreated event) {
+        Deal deal = event.deal();
+        dealsByStage.merge(deal.getStage(), 1L, Long::sum);
+        dealCount++;
+        totalRevenue = totalRevenue.add(valueOf(deal));
+        deltas++;
+        publish();
+    }
+
+    @TransactionalEventListener
+    public synchronized void onDealStageChanged(DealEvents.DealStageChanged event) {
+        dealsByStage.merge(event.previousStage(), -1L, Long::sum);
+        dealsByStage.merge(event.deal().getStage(), 1L, Long::sum);
+        deltas++;
+        publish();
+    }
+
+    @TransactionalEventListener
+    public synchronized void onDealDeleted(DealEvents.DealDeleted event) {
+        Deal deal = event.deal();
+        dealsByStage.merge(deal.getStage(), -1L, Long::sum);
+        dealCount--;
+        totalRevenue = totalRevenue.subtract(valueOf(deal));
+        deltas++;
+        publish();
+    }
+
+    @TransactionalEventListener
+    public synchronized void onContactCreated(ContactEvents.ContactCreated event) {
+        contactCount++;
+        deltas++;
+        publish();
+    }
+
+    @TransactionalEventListener
+    public synchronized void onContactDeleted(ContactEvents.ContactDeleted event) {
+        contactCount--;
+        deltas++;
+        publish();
+    }
+
+    @TransactionalEventListener
+    public synchronized void onContactsImported(ContactEvents.ContactsImported event) {
+        contactCount += event.count();
+        deltas++;
+        publish();
+    }
+
+    // Upcoming tasks are read from ActivityService's reminder wheel, which is updated before these fire.
+    @TransactionalEventListener
+    public synchronized void onActivityCreated(ActivityEvents.ActivityCreated event) {
+        if (isOpenTask(event.activity())) {
+            publish();
+        }
+    }
+
+    @TransactionalEventListener
+    public synchronized void onActivityCompleted(ActivityEvents.ActivityCompleted event) {
+        if (event.activity().getType() == Activity.ActivityType.TASK) {
+            publish();
+        }
+    }
+
+    @TransactionalEventListener
+    public synchronized void onActivitiesIngested(ActivityEvents.ActivitiesIngested event) {
+        if (event.activities().stream().anyMatch(DashboardStatsStore::isOpenTask)) {
+            publish();
+        }
+    }
+
+    // Published from the reminder tick, outside any transaction
+    @EventListener
+    public synchronized void onActivityDue(ActivityEvents.ActivityDue event) {
+        if (event.type() == Activity.ActivityType.TASK) {
+            publish();
+        }
+    }
+
+    private void publish() {
+        Map<String, Long> distribution = new LinkedHashMap<>();
+        dealsByStage.forEach((stage, count) -> {
+            if (count > 0) {
+                distribution.put(stage.name(), count);
+            }
+        });
+        pipeline = Collections.unmodifiableMap(distribution);
+        stats = new DashboardStats(totalRevenue, dealCount, contactCount,
+                activityService.countUpcomingTasks(null, upcomingDays));
+        version++;
+    }
+
+    private static boolean isOpenTask(Activity activity) {
+        return activity.getType() == Activity.ActivityType.TASK && !activity.isCompleted();
+    }
+
+    private static BigDecimal valueOf(Deal deal) {
+        return deal.getValue() != null ? deal.getValue() : BigDecimal.ZERO;
+    }
+}
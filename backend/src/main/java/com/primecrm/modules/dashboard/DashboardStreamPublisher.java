@@ -0,0 +1,166 @@
+package com.primecrm.modules.dashboard;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+@RequiredArgsConstructor
+public class DashboardStreamPublisher {
+
+    private final DashboardStatsStore statsStore;
+    private final ObjectMapper objectMapper;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    // emitter.send blocks on the client's socket, so it never runs on the shared scheduler thread
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+
+    private long lastPublishedVersion = -1;
+    private DashboardStats lastStats;
+    private Map<String, Long> lastPipeline;
+
+    @Value("${dashboard.stream.timeout:PT30M}")
+    private Duration timeout;
+
+    @Value("${dashboard.stream.max-pushes-per-second:2}")
+    private int maxPushesPerSecond;
+
+    // Checked before the push schedule, which is derived from this setting, is registered
+    @PostConstruct
+    void validate() {
+        if (maxPushesPerSecond < 1 || maxPushesPerSecond > 1000) {
+            throw new IllegalArgumentException(
+                    "dashboard.stream.max-pushes-per-second must be between 1 and 1000, was " + maxPushesPerSecond);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sender.shutdownNow();
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        // Completing ends the response cleanly; otherwise MVC raises AsyncRequestTimeoutException into a
+        // response that is already committed as text/event-stream.
+        emitter.onTimeout(() -> {
+            subscribers.remove(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(e -> subscribers.remove(subscriber));
+        // Registered and snapshotted under the publisher's lock, so a push is either already in the snapshot
+        // or sent after it. The emitter is not handed to MVC yet, so these sends only buffer and never block.
+        synchronized (this) {
+            subscribers.add(subscriber);
+            try {
+                emitter.send(SseEmitter.event().name("stats")
+                        .data(toJson(statsStore.getStats()), MediaType.APPLICATION_JSON));
+                emitter.send(SseEmitter.event().name("pipeline")
+                        .data(toJson(statsStore.getPipelineDistribution()), MediaType.APPLICATION_JSON));
+            } catch (IOException e) {
+                subscribers.remove(subscriber);
+                emitter.completeWithError(e);
+            }
+        }
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    // Runs at most max-pushes-per-second times; bursts of writes in between collapse into one push.
+    @Scheduled(fixedRateString = "#{1000 / ${dashboard.stream.max-pushes-per-second:2}}")
+    public synchronized void publishChanges() {
+        long version = statsStore.getVersion();
+        if (version == lastPublishedVersion || subscribers.isEmpty()) {
+            return;
+        }
+        lastPublishedVersion = version;
+
+        DashboardStats stats = statsStore.getStats();
+        Map<String, Long> pipeline = statsStore.getPipelineDistribution();
+        List<SseEmitter.SseEventBuilder> events = new ArrayList<>(2);
+        if (!Objects.equals(stats, lastStats)) {
+            events.add(SseEmitter.event().name("stats").data(toJson(stats), MediaType.APPLICATION_JSON));
+            lastStats = stats;
+        }
+        if (!Objects.equals(pipeline, lastPipeline)) {
+            events.add(SseEmitter.event().name("pipeline").data(toJson(pipeline), MediaType.APPLICATION_JSON));
+            lastPipeline = pipeline;
+        }
+        broadcast(events);
+    }
+
+    @Scheduled(fixedRateString = "${dashboard.stream.heartbeat-interval-ms:25000}")
+    public void sendHeartbeat() {
+        broadcast(List.of(SseEmitter.event().comment("keep-alive")));
+    }
+
+    // A subscriber still busy with the previous push when the next one is due cannot keep up and is dropped;
+    // its EventSource reconnects and starts again from a fresh snapshot.
+    private void broadcast(List<SseEmitter.SseEventBuilder> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<Set<ResponseBodyEmitter.DataWithMediaType>> payloads = events.stream()
+                .map(SseEmitter.SseEventBuilder::build)
+                .toList();
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.sending.compareAndSet(false, true)) {
+                subscribers.remove(subscriber);
+                sender.execute(subscriber.emitter::complete);
+                continue;
+            }
+            sender.execute(() -> {
+                try {
+                    for (Set<ResponseBodyEmitter.DataWithMediaType> payload : payloads) {
+                        subscriber.emitter.send(payload);
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    subscribers.remove(subscriber);
+                } finally {
+                    subscriber.sending.set(false);
+                }
+            });
+        }
+    }
+
+    private record Subscriber(SseEmitter emitter, AtomicBoolean sending) {
+
+        Subscriber(SseEmitter emitter) {
+            this(emitter, new AtomicBoolean());
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise dashboard update", e);
+        }
+    }
+}
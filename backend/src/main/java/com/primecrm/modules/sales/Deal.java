@@ -7,13 +7,18 @@ import jakarta.validation.constraints.NotNull;
 import lombok.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
 @Table(name = "deals", indexes = {
         @Index(name = "idx_deal_stage", columnList = "stage"),
         @Index(name = "idx_deal_contact", columnList = "contact_id"),
-        @Index(name = "idx_deal_owner", columnList = "owner_id")
+        @Index(name = "idx_deal_owner", columnList = "owner_id"),
+        // Keyset list orders (DealService.SORTABLE_FIELDS and the createdAt default), id as tie-breaker
+        @Index(name = "idx_deal_value_id", columnList = "value, id"),
+        @Index(name = "idx_deal_title_id", columnList = "title, id"),
+        @Index(name = "idx_deal_created_at_id", columnList = "created_at, id")
 })
 @Getter
 @Setter
@@ -35,6 +40,8 @@ public class Deal extends BaseEntity {
     @Column(nullable = false)
     private DealStage stage;
 
+    private LocalDateTime stageEnteredAt;
+
     @NotNull
     @Column(name = "contact_id", nullable = false)
     private UUID contactId; // Loose coupling with CRM Module
@@ -1,8 +1,17 @@
 package com.primecrm.modules.sales;
 
+import com.primecrm.core.export.ExportColumn;
+import com.primecrm.core.export.ExportFormat;
+import com.primecrm.core.export.StreamingExporter;
+import com.primecrm.core.protobuf.PrimeCrmProto;
+import com.primecrm.core.protobuf.ProtoValues;
+import com.primecrm.core.search.CursorPage;
+import com.primecrm.core.search.Facets;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -13,12 +22,70 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class DealController {
 
+    private static final List<ExportColumn<Deal>> EXPORT_COLUMNS = List.of(
+            ExportColumn.of("id", Deal::getId),
+            ExportColumn.of("title", Deal::getTitle),
+            ExportColumn.of("description", Deal::getDescription),
+            ExportColumn.of("value", Deal::getValue),
+            ExportColumn.of("stage", Deal::getStage),
+            ExportColumn.of("stageEnteredAt", Deal::getStageEnteredAt),
+            ExportColumn.of("contactId", Deal::getContactId),
+            ExportColumn.of("ownerId", Deal::getOwnerId),
+            ExportColumn.of("createdAt", Deal::getCreatedAt),
+            ExportColumn.of("updatedAt", Deal::getUpdatedAt));
+
     private final DealService dealService;
+    private final StreamingExporter exporter;
+    private final com.primecrm.core.CollectionVersions collectionVersions;
 
     @GetMapping
-    public ResponseEntity<List<Deal>> getAllDeals(@RequestParam(required = false) String search) {
-        List<com.primecrm.core.search.SearchCriteria> criteria = com.primecrm.core.search.SearchCriteria.parse(search);
-        return ResponseEntity.ok(dealService.searchDeals(criteria));
+    public ResponseEntity<List<DealListItem>> getAllDeals(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            org.springframework.web.context.request.NativeWebRequest request) {
+        if (collectionVersions.checkNotModified(DealService.COLLECTION, request)) {
+            return null;
+        }
+        return search(search, sort, cursor, limit, fields).toResponseEntity();
+    }
+
+    // Counts per facet for the same ?search= as the list, for filter sidebars.
+    @GetMapping("/facets")
+    public ResponseEntity<java.util.Map<String, Facets.Result>> getDealFacets(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String facets,
+            @RequestParam(required = false) Integer buckets,
+            org.springframework.web.context.request.NativeWebRequest request) {
+        if (collectionVersions.checkNotModified(DealService.COLLECTION, request)) {
+            return null;
+        }
+        return ResponseEntity.ok(dealService.countDealFacets(
+                com.primecrm.core.search.SearchCriteria.parse(search), facets, buckets));
+    }
+
+    @GetMapping(produces = ProtoValues.MEDIA_TYPE)
+    public ResponseEntity<PrimeCrmProto.DealList> getAllDealsProtobuf(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            org.springframework.web.context.request.NativeWebRequest request) {
+        if (collectionVersions.checkNotModified(DealService.COLLECTION, request)) {
+            return null;
+        }
+        return search(search, sort, cursor, limit, fields).toResponseEntity(DealProtos::list);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportDeals(
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return exporter.export("deals", ExportFormat.parse(format), StreamingExporter.acceptsGzip(acceptEncoding),
+                EXPORT_COLUMNS, dealService::streamAllDeals);
     }
 
     @PostMapping
@@ -31,10 +98,22 @@ public class DealController {
         return ResponseEntity.ok(dealService.updateStage(id, stage));
     }
 
+    @GetMapping("/{id}/stage-history")
+    public ResponseEntity<List<DealStageTransition>> getStageHistory(@PathVariable UUID id) {
+        return ResponseEntity.ok(dealService.getStageHistory(id));
+    }
+
     @DeleteMapping("/{id}")
     @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Void> deleteDeal(@PathVariable UUID id) {
         dealService.deleteDeal(id);
         return ResponseEntity.noContent().build();
     }
+
+    private CursorPage<DealListItem> search(String search, String sort, String cursor,
+            Integer limit, String fields) {
+        com.primecrm.core.search.CursorPageRequest page = com.primecrm.core.search.CursorPageRequest.of(
+                sort, cursor, limit, DealService.SORTABLE_FIELDS);
+        return dealService.searchDeals(com.primecrm.core.search.SearchCriteria.parse(search), page, fields);
+    }
 }
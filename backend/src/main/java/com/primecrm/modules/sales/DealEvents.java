@@ -0,0 +1,16 @@
+package com.primecrm.modules.sales;
+
+public final class DealEvents {
+
+    private DealEvents() {
+    }
+
+    public record DealCreated(Deal deal) {
+    }
+
+    public record DealStageChanged(Deal deal, Deal.DealStage previousStage, java.time.Duration timeInPreviousStage) {
+    }
+
+    public record DealDeleted(Deal deal) {
+    }
+}
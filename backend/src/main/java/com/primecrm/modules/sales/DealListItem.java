@@ -0,0 +1,22 @@
+package com.primecrm.modules.sales;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Row of the deals list; fields left out through ?fields= are null and omitted from the JSON.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DealListItem(
+        UUID id,
+        String title,
+        BigDecimal value,
+        Deal.DealStage stage,
+        LocalDateTime stageEnteredAt,
+        UUID contactId,
+        UUID ownerId,
+        LocalDateTime createdAt,
+        String description,
+        LocalDateTime updatedAt) {
+}
@@ -0,0 +1,57 @@
+package com.primecrm.modules.sales;
+
+import com.primecrm.core.protobuf.PrimeCrmProto;
+import com.primecrm.core.protobuf.ProtoValues;
+import com.primecrm.core.search.CursorPage;
+
+final class DealProtos {
+
+    private DealProtos() {
+    }
+
+    static PrimeCrmProto.DealList list(CursorPage<DealListItem> page) {
+        PrimeCrmProto.DealList.Builder list = PrimeCrmProto.DealList.newBuilder();
+        page.items().forEach(item -> list.addItems(fromView(item)));
+        if (page.nextCursor() != null) {
+            list.setNextCursor(page.nextCursor());
+        }
+        return list.build();
+    }
+
+    static PrimeCrmProto.Deal fromView(DealListItem item) {
+        PrimeCrmProto.Deal.Builder deal = PrimeCrmProto.Deal.newBuilder()
+                .setId(ProtoValues.uuid(item.id()));
+        if (item.title() != null) {
+            deal.setTitle(item.title());
+        }
+        if (item.description() != null) {
+            deal.setDescription(item.description());
+        }
+        if (item.value() != null) {
+            deal.setValue(item.value().toPlainString());
+        }
+        if (item.stage() != null) {
+            deal.setStage(stage(item.stage()));
+        }
+        if (item.stageEnteredAt() != null) {
+            deal.setStageEnteredAt(ProtoValues.timestamp(item.stageEnteredAt()));
+        }
+        if (item.contactId() != null) {
+            deal.setContactId(ProtoValues.uuid(item.contactId()));
+        }
+        if (item.ownerId() != null) {
+            deal.setOwnerId(ProtoValues.uuid(item.ownerId()));
+        }
+        if (item.createdAt() != null) {
+            deal.setCreatedAt(ProtoValues.timestamp(item.createdAt()));
+        }
+        if (item.updatedAt() != null) {
+            deal.setUpdatedAt(ProtoValues.timestamp(item.updatedAt()));
+        }
+        return deal.build();
+    }
+
+    private static PrimeCrmProto.DealStage stage(Deal.DealStage stage) {
+        return PrimeCrmProto.DealStage.valueOf("DEAL_STAGE_" + stage.name());
+    }
+}
@@ -8,6 +8,10 @@ public interface DealRepository
         extends JpaRepository<Deal, UUID>, org.springframework.data.jpa.repository.JpaSpecificationExecutor<Deal> {
     List<Deal> findByContactId(UUID contactId);
 
+    @org.springframework.data.jpa.repository.Query("SELECT d.id FROM Deal d WHERE d.contactId IN :contactIds")
+    List<UUID> findIdsByContactIdIn(
+            @org.springframework.data.repository.query.Param("contactIds") java.util.Collection<UUID> contactIds);
+
     List<Deal> findByStage(Deal.DealStage stage);
 
     List<Deal> findByOwnerId(UUID ownerId);
@@ -15,7 +19,16 @@ public interface DealRepository
     @org.springframework.data.jpa.repository.Query("SELECT d.stage, COUNT(d) FROM Deal d GROUP BY d.stage")
     List<Object[]> countByStage();
 
-    @org.springframework.data.jpa.repository.Query(value = "SELECT TO_CHAR(created_at, 'YYYY-MM-DD'), SUM(value) FROM deals WHERE created_at >= :startDate GROUP BY TO_CHAR(created_at, 'YYYY-MM-DD') ORDER BY TO_CHAR(created_at, 'YYYY-MM-DD')", nativeQuery = true)
-    List<Object[]> sumValueByDate(
-            @org.springframework.data.repository.query.Param("startDate") java.time.LocalDateTime startDate);
+    @org.springframework.data.jpa.repository.Query("SELECT COALESCE(SUM(d.value), 0) FROM Deal d")
+    java.math.BigDecimal sumValue();
+
+    @org.springframework.data.jpa.repository.Query("SELECT d.stage, COUNT(d), COALESCE(SUM(d.value), 0) FROM Deal d GROUP BY d.stage")
+    List<Object[]> sumValueByStage();
+
+    @org.springframework.data.jpa.repository.Query("SELECT d FROM Deal d")
+    @org.springframework.data.jpa.repository.QueryHints({
+            @jakarta.persistence.QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = com.primecrm.core.export.StreamingExporter.FETCH_SIZE),
+            @jakarta.persistence.QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_READ_ONLY, value = "true"),
+            @jakarta.persistence.QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_CACHE_MODE, value = "IGNORE") })
+    java.util.stream.Stream<Deal> streamAll();
 }
@@ -1,9 +1,17 @@
 package com.primecrm.modules.sales;
 
+import com.primecrm.core.search.CursorPage;
+import com.primecrm.core.search.CursorPageRequest;
+import com.primecrm.core.search.Facets;
+import com.primecrm.core.search.KeysetPagination;
+import com.primecrm.core.search.Projection;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -11,36 +19,96 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class DealService {
 
+    public static final String COLLECTION = "deals";
+
+    private static final int ID_CHUNK_SIZE = 1000;
+
+    public static final java.util.Set<String> SORTABLE_FIELDS = java.util.Set.of("value", "title");
+
+    public static final com.primecrm.core.search.SearchSchema<Deal> SEARCH_FIELDS = com.primecrm.core.search.SearchSchema
+            .of(Deal.class)
+            .field("title")
+            .field("value")
+            .field("stage")
+            .field("contactId")
+            .field("ownerId")
+            .field("stageEnteredAt")
+            .field("createdAt");
+
+    public static final Facets<Deal> FACETS = Facets.of(Deal.class)
+            .terms("stage", "stage")
+            .terms("owner", "ownerId")
+            .ranges("valueBand", "value", 1_000, 10_000, 50_000, 100_000);
+
+    public static final Projection<Deal, DealListItem> LIST_VIEW = Projection.of(Deal.class, DealListItem.class)
+            .optional("description")
+            .optional("updatedAt");
+
     private final DealRepository dealRepository;
+    private final DealStageTransitionRepository stageTransitionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final jakarta.persistence.EntityManager entityManager;
+    private final com.primecrm.core.CollectionVersions collectionVersions;
 
-    public List<Deal> searchDeals(List<com.primecrm.core.search.SearchCriteria> criteriaList) {
-        if (criteriaList == null || criteriaList.isEmpty()) {
-            return getDealsByPipeline();
-        }
-        org.springframework.data.jpa.domain.Specification<Deal> spec = org.springframework.data.jpa.domain.Specification
-                .where(null);
-        for (com.primecrm.core.search.SearchCriteria criteria : criteriaList) {
-            spec = spec.and(new com.primecrm.core.search.BaseSpecification<>(criteria));
-        }
-        return dealRepository.findAll(spec);
+    public CursorPage<DealListItem> searchDeals(
+            List<com.primecrm.core.search.SearchCriteria> criteriaList, CursorPageRequest page, String fields) {
+        return KeysetPagination.fetch(entityManager, LIST_VIEW, SEARCH_FIELDS.toSpecification(criteriaList), page,
+                fields);
     }
 
-    public List<Deal> getDealsByPipeline() {
-        // For now, return all deals. Later filter by pipeline/stage.
-        return dealRepository.findAll();
+    @Transactional(readOnly = true)
+    public java.util.Map<String, Facets.Result> countDealFacets(
+            List<com.primecrm.core.search.SearchCriteria> criteriaList, String facets, Integer buckets) {
+        return FACETS.count(entityManager, SEARCH_FIELDS.toSpecification(criteriaList), facets, buckets);
+    }
+
+    // Must be consumed inside a transaction, see StreamingExporter
+    public java.util.stream.Stream<Deal> streamAllDeals() {
+        return dealRepository.streamAll();
     }
 
     @Transactional
     public Deal createDeal(@lombok.NonNull Deal deal) {
-        return dealRepository.save(deal);
+        deal.setStageEnteredAt(LocalDateTime.now());
+        Deal saved = dealRepository.save(deal);
+        recordTransition(saved, null, Duration.ZERO);
+        eventPublisher.publishEvent(new DealEvents.DealCreated(saved));
+        collectionVersions.bump(COLLECTION);
+        return saved;
     }
 
     @Transactional
     public Deal updateStage(@lombok.NonNull UUID dealId, Deal.DealStage stage) {
         Deal deal = dealRepository.findById(dealId)
                 .orElseThrow(() -> new IllegalArgumentException("Deal not found"));
+        Deal.DealStage previousStage = deal.getStage();
+        if (previousStage == stage) {
+            return deal;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime enteredAt = deal.getStageEnteredAt() != null ? deal.getStageEnteredAt() : deal.getCreatedAt();
+        Duration timeInPreviousStage = enteredAt != null ? Duration.between(enteredAt, now) : Duration.ZERO;
         deal.setStage(stage);
-        return dealRepository.save(deal);
+        deal.setStageEnteredAt(now);
+        Deal saved = dealRepository.save(deal);
+        recordTransition(saved, previousStage, timeInPreviousStage);
+        eventPublisher.publishEvent(new DealEvents.DealStageChanged(saved, previousStage, timeInPreviousStage));
+        collectionVersions.bump(COLLECTION);
+        return saved;
+    }
+
+    public List<DealStageTransition> getStageHistory(@lombok.NonNull UUID dealId) {
+        return stageTransitionRepository.findByDealIdOrderByCreatedAt(dealId);
+    }
+
+    // Chunked so large accounts stay under the driver's bind parameter limit.
+    public List<UUID> getDealIdsByContacts(@lombok.NonNull List<UUID> contactIds) {
+        List<UUID> dealIds = new java.util.ArrayList<>();
+        for (int from = 0; from < contactIds.size(); from += ID_CHUNK_SIZE) {
+            List<UUID> chunk = contactIds.subList(from, Math.min(from + ID_CHUNK_SIZE, contactIds.size()));
+            dealIds.addAll(dealRepository.findIdsByContactIdIn(chunk));
+        }
+        return dealIds;
     }
 
     public long countDeals() {
@@ -49,15 +117,27 @@ public class DealService {
 
     @Transactional
     public void deleteDeal(@lombok.NonNull UUID id) {
-        if (!dealRepository.existsById(id)) {
-            throw new IllegalArgumentException("Deal not found");
-        }
-        dealRepository.deleteById(id);
+        Deal deal = dealRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Deal not found"));
+        dealRepository.delete(deal);
+        eventPublisher.publishEvent(new DealEvents.DealDeleted(deal));
+        collectionVersions.bump(COLLECTION);
     }
 
     public java.math.BigDecimal calculateTotalRevenue() {
-        return dealRepository.findAll().stream()
-                .map(Deal::getValue)
-                .reduce(java.math.BigDecimal.ZERO, java.math.BigDecimal::add);
+        return dealRepository.sumValue();
+    }
+
+    public List<Object[]> summarizeByStage() {
+        return dealRepository.sumValueByStage();
+    }
+
+    private void recordTransition(Deal deal, Deal.DealStage fromStage, Duration timeInFromStage) {
+        stageTransitionRepository.save(DealStageTransition.builder()
+                .dealId(deal.getId())
+                .fromStage(fromStage)
+                .toStage(deal.getStage())
+                .durationSeconds(Math.max(0, timeInFromStage.getSeconds()))
+                .build());
     }
 }
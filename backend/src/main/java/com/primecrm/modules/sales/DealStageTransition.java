@@ -0,0 +1,34 @@
+package com.primecrm.modules.sales;
+
+import com.primecrm.core.BaseEntity;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.UUID;
+
+@Entity
+@Table(name = "deal_stage_transitions", indexes = {
+        @Index(name = "idx_stage_transition_deal", columnList = "deal_id, created_at"),
+        @Index(name = "idx_stage_transition_stages", columnList = "from_stage, to_stage")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DealStageTransition extends BaseEntity {
+
+    @Column(name = "deal_id", nullable = false, updatable = false)
+    private UUID dealId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_stage", updatable = false)
+    private Deal.DealStage fromStage;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_stage", nullable = false, updatable = false)
+    private Deal.DealStage toStage;
+
+    @Column(nullable = false, updatable = false)
+    private long durationSeconds; // Time spent in fromStage
+}
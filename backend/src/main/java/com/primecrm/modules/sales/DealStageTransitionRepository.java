@@ -0,0 +1,27 @@
+package com.primecrm.modules.sales;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface DealStageTransitionRepository extends JpaRepository<DealStageTransition, UUID> {
+
+    List<DealStageTransition> findByDealIdOrderByCreatedAt(UUID dealId);
+
+    @Query("SELECT t.toStage, COUNT(t) FROM DealStageTransition t GROUP BY t.toStage")
+    List<Object[]> countEntriesByStage();
+
+    @Query("SELECT t.fromStage, t.toStage, COUNT(t) FROM DealStageTransition t WHERE t.fromStage IS NOT NULL GROUP BY t.fromStage, t.toStage")
+    List<Object[]> countTransitions();
+
+    @Query("SELECT t.fromStage, t.durationSeconds / 86400, COUNT(t) FROM DealStageTransition t WHERE t.fromStage IS NOT NULL GROUP BY t.fromStage, t.durationSeconds / 86400")
+    List<Object[]> countDaysInStage();
+
+    @Modifying
+    @Query(value = "INSERT INTO deal_stage_transitions (id, deal_id, from_stage, to_stage, duration_seconds, created_at, updated_at) "
+            + "SELECT gen_random_uuid(), d.id, NULL, d.stage, 0, d.created_at, d.created_at FROM deals d", nativeQuery = true)
+    int seedFromCurrentStages();
+}
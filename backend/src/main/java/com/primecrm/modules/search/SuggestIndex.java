@@ -0,0 +1,165 @@
+package com.primecrm.modules.search;
+
+import com.primecrm.core.RebuildableView;
+import com.primecrm.modules.crm.Company;
+import com.primecrm.modules.crm.CompanyEvents;
+import com.primecrm.modules.crm.Contact;
+import com.primecrm.modules.crm.ContactEvents;
+import com.primecrm.modules.sales.Deal;
+import com.primecrm.modules.sales.DealEvents;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Typeahead over contact names and emails, company names and deal titles. Built from the
+// tables once the application is ready, then kept current from the crm and sales events.
+@Slf4j
+@Component
+public class SuggestIndex {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final RebuildableView<SuggestTrie> trie = new RebuildableView<>(new SuggestTrie());
+
+    public SuggestIndex(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public List<Suggestion> suggest(String query, int limit) {
+        if (limit < 1 || limit > SuggestTrie.MAX_RESULTS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + SuggestTrie.MAX_RESULTS);
+        }
+        return trie.read(current -> current.suggest(query, limit));
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        SuggestTrie fresh;
+        try {
+            fresh = trie.rebuild(() -> readOnlyTransaction.execute(status -> {
+                SuggestTrie loaded = new SuggestTrie();
+                load("SELECT id, first_name, last_name, email FROM contacts", rs -> putContact(loaded,
+                        rs.getObject(1, UUID.class), rs.getString(2), rs.getString(3), rs.getString(4)));
+                load("SELECT id, name FROM companies", rs -> putCompany(loaded, rs.getObject(1, UUID.class),
+                        rs.getString(2)));
+                load("SELECT id, title FROM deals", rs -> putDeal(loaded, rs.getObject(1, UUID.class),
+                        rs.getString(2)));
+                return loaded;
+            }));
+        } catch (RuntimeException e) {
+            log.error("Suggest index build failed", e);
+            return;
+        }
+        log.info("Suggest index built in {} ms with {} entries", (System.nanoTime() - started) / 1_000_000,
+                fresh.size());
+    }
+
+    public void clear() {
+        trie.apply(SuggestTrie::clear);
+    }
+
+    @TransactionalEventListener
+    public void onContactCreated(ContactEvents.ContactCreated event) {
+        Contact contact = event.contact();
+        trie.apply(current -> putContact(current, contact.getId(), contact.getFirstName(), contact.getLastName(),
+                contact.getEmail()));
+    }
+
+    @TransactionalEventListener
+    public void onContactDeleted(ContactEvents.ContactDeleted event) {
+        UUID id = event.contact().getId();
+        trie.apply(current -> current.remove(Suggestion.Type.CONTACT, id));
+    }
+
+    @TransactionalEventListener
+    public void onContactsImported(ContactEvents.ContactsImported event) {
+        trie.apply(current -> {
+            event.companies().forEach(company -> putCompany(current, company.getId(), company.getName()));
+            event.contacts().forEach(contact -> putContact(current, contact.getId(), contact.getFirstName(),
+                    contact.getLastName(), contact.getEmail()));
+        });
+    }
+
+    @TransactionalEventListener
+    public void onCompanyCreated(CompanyEvents.CompanyCreated event) {
+        Company company = event.company();
+        trie.apply(current -> putCompany(current, company.getId(), company.getName()));
+    }
+
+    @TransactionalEventListener
+    public void onDealCreated(DealEvents.DealCreated event) {
+        Deal deal = event.deal();
+        trie.apply(current -> putDeal(current, deal.getId(), deal.getTitle()));
+    }
+
+    @TransactionalEventListener
+    public void onDealDeleted(DealEvents.DealDeleted event) {
+        UUID id = event.deal().getId();
+        trie.apply(current -> current.remove(Suggestion.Type.DEAL, id));
+    }
+
+    private static void putContact(SuggestTrie trie, UUID id, String firstName, String lastName, String email) {
+        String name = join(firstName, lastName);
+        List<SuggestTrie.Term> terms = new ArrayList<>(3);
+        terms.add(new SuggestTrie.Term(name, 0));
+        terms.add(new SuggestTrie.Term(lastName, 1));
+        terms.add(new SuggestTrie.Term(email, 2));
+        trie.put(new Suggestion(Suggestion.Type.CONTACT, id, name), terms);
+    }
+
+    private static void putCompany(SuggestTrie trie, UUID id, String name) {
+        trie.put(new Suggestion(Suggestion.Type.COMPANY, id, name), words(name));
+    }
+
+    private static void putDeal(SuggestTrie trie, UUID id, String title) {
+        trie.put(new Suggestion(Suggestion.Type.DEAL, id, title), words(title));
+    }
+
+    // The whole text plus every suffix starting at a later word, so "Globex Renewal" is found by
+    // "glo" and by "ren".
+    private static List<SuggestTrie.Term> words(String text) {
+        List<SuggestTrie.Term> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        String normalized = SuggestTrie.normalize(text);
+        terms.add(new SuggestTrie.Term(normalized, 0));
+        for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+            terms.add(new SuggestTrie.Term(normalized.substring(i + 1), 1));
+        }
+        return terms;
+    }
+
+    private static String join(String firstName, String lastName) {
+        if (firstName == null) {
+            return lastName;
+        }
+        return lastName == null ? firstName : firstName + " " + lastName;
+    }
+
+    private void load(String sql, RowCallbackHandler handler) {
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(sql);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, handler);
+    }
+}
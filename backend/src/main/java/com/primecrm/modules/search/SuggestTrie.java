@@ -0,0 +1,251 @@
+package com.primecrm.modules.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+// Prefix trie where every node keeps the best MAX_RESULTS distinct suggestions of its subtree,
+// so a lookup is a walk of at most MAX_DEPTH nodes regardless of how many terms share the
+// prefix. Terms longer than MAX_DEPTH end in the node at that depth, which is then scanned
+// for longer queries. Not thread-safe; SuggestIndex guards access.
+class SuggestTrie {
+
+    static final int MAX_RESULTS = 10;
+    static final int MAX_DEPTH = 12;
+
+    // Lower weight ranks first: a term that starts the label beats one that starts a later word.
+    record Term(String text, int weight) {
+    }
+
+    private record Posting(Suggestion suggestion, String term, int weight) {
+    }
+
+    private static final Comparator<Posting> RANK = Comparator.comparingInt(Posting::weight)
+            .thenComparingInt(p -> p.suggestion().label().length())
+            .thenComparing(p -> p.suggestion().label(), String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(p -> p.suggestion().id());
+
+    private static final class Node {
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        private List<Posting> postings;
+        private Posting[] top = new Posting[0];
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(labels, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        void removeChild(char c) {
+            int i = Arrays.binarySearch(labels, c);
+            if (i >= 0) {
+                labels = remove(labels, i);
+                children = remove(children, i);
+            }
+        }
+
+        Node addChild(char c) {
+            int i = Arrays.binarySearch(labels, c);
+            if (i >= 0) {
+                return children[i];
+            }
+            int at = -i - 1;
+            Node child = new Node();
+            labels = insert(labels, at, c);
+            children = insert(children, at, child);
+            return child;
+        }
+    }
+
+    private final Node root = new Node();
+    private final Map<Suggestion.Type, Map<UUID, List<Posting>>> documents = new HashMap<>();
+
+    static String normalize(String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    int size() {
+        return documents.values().stream().mapToInt(Map::size).sum();
+    }
+
+    void put(Suggestion suggestion, List<Term> terms) {
+        remove(suggestion.type(), suggestion.id());
+        List<Posting> postings = new ArrayList<>(terms.size());
+        for (Term term : terms) {
+            String text = normalize(term.text());
+            if (!text.isEmpty()) {
+                Posting posting = new Posting(suggestion, text, term.weight());
+                postings.add(posting);
+                insert(posting);
+            }
+        }
+        if (!postings.isEmpty()) {
+            documents.computeIfAbsent(suggestion.type(), type -> new HashMap<>()).put(suggestion.id(), postings);
+        }
+    }
+
+    void remove(Suggestion.Type type, UUID id) {
+        Map<UUID, List<Posting>> byId = documents.get(type);
+        List<Posting> postings = byId != null ? byId.remove(id) : null;
+        if (postings == null) {
+            return;
+        }
+        for (Posting posting : postings) {
+            List<Node> path = path(posting.term());
+            Node last = path.get(path.size() - 1);
+            last.postings.remove(posting);
+            for (int i = path.size() - 1; i >= 0; i--) {
+                Node node = path.get(i);
+                recompute(node);
+                if (i > 0 && node.top.length == 0 && node.children.length == 0) {
+                    path.get(i - 1).removeChild(posting.term().charAt(i - 1));
+                }
+            }
+        }
+    }
+
+    void clear() {
+        root.labels = new char[0];
+        root.children = new Node[0];
+        root.postings = null;
+        root.top = new Posting[0];
+        documents.clear();
+    }
+
+    List<Suggestion> suggest(String query, int limit) {
+        String prefix = normalize(query);
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+        Node node = root;
+        for (int i = 0; i < Math.min(prefix.length(), MAX_DEPTH); i++) {
+            node = node.child(prefix.charAt(i));
+            if (node == null) {
+                return List.of();
+            }
+        }
+        if (prefix.length() <= MAX_DEPTH) {
+            return distinct(Arrays.asList(node.top), limit);
+        }
+        List<Posting> matches = new ArrayList<>();
+        if (node.postings != null) {
+            for (Posting posting : node.postings) {
+                if (posting.term().startsWith(prefix)) {
+                    matches.add(posting);
+                }
+            }
+        }
+        matches.sort(RANK);
+        return distinct(matches, limit);
+    }
+
+    private void insert(Posting posting) {
+        String term = posting.term();
+        Node node = root;
+        offer(node, posting);
+        for (int i = 0; i < Math.min(term.length(), MAX_DEPTH); i++) {
+            node = node.addChild(term.charAt(i));
+            offer(node, posting);
+        }
+        if (node.postings == null) {
+            node.postings = new ArrayList<>(1);
+        }
+        node.postings.add(posting);
+    }
+
+    private List<Node> path(String term) {
+        List<Node> path = new ArrayList<>(MAX_DEPTH + 1);
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < Math.min(term.length(), MAX_DEPTH); i++) {
+            node = node.child(term.charAt(i));
+            path.add(node);
+        }
+        return path;
+    }
+
+    // Keeps at most one posting per suggestion in a node's top list, the best ranked one.
+    private static void offer(Node node, Posting posting) {
+        Posting[] top = node.top;
+        for (int i = 0; i < top.length; i++) {
+            if (top[i].suggestion().equals(posting.suggestion())) {
+                if (RANK.compare(posting, top[i]) >= 0) {
+                    return;
+                }
+                top = remove(top, i);
+                break;
+            }
+        }
+        if (top.length == MAX_RESULTS && RANK.compare(posting, top[top.length - 1]) >= 0) {
+            return;
+        }
+        int at = 0;
+        while (at < top.length && RANK.compare(top[at], posting) < 0) {
+            at++;
+        }
+        Posting[] result = new Posting[Math.min(top.length + 1, MAX_RESULTS)];
+        System.arraycopy(top, 0, result, 0, at);
+        result[at] = posting;
+        System.arraycopy(top, at, result, at + 1, result.length - at - 1);
+        node.top = result;
+    }
+
+    private static void recompute(Node node) {
+        Map<Suggestion, Posting> best = new LinkedHashMap<>();
+        List<Posting> candidates = new ArrayList<>();
+        if (node.postings != null) {
+            candidates.addAll(node.postings);
+        }
+        for (Node child : node.children) {
+            candidates.addAll(Arrays.asList(child.top));
+        }
+        for (Posting candidate : candidates) {
+            best.merge(candidate.suggestion(), candidate, (a, b) -> RANK.compare(a, b) <= 0 ? a : b);
+        }
+        node.top = best(best.values());
+    }
+
+    private static Posting[] best(Collection<Posting> postings) {
+        return postings.stream().sorted(RANK).limit(MAX_RESULTS).toArray(Posting[]::new);
+    }
+
+    private static List<Suggestion> distinct(List<Posting> postings, int limit) {
+        return postings.stream().map(Posting::suggestion).distinct().limit(limit).toList();
+    }
+
+    private static char[] remove(char[] array, int at) {
+        char[] result = new char[array.length - 1];
+        System.arraycopy(array, 0, result, 0, at);
+        System.arraycopy(array, at + 1, result, at, result.length - at);
+        return result;
+    }
+
+    private static <T> T[] remove(T[] array, int at) {
+        T[] result = Arrays.copyOf(array, array.length - 1);
+        System.arraycopy(array, at + 1, result, at, result.length - at);
+        return result;
+    }
+
+    private static char[] insert(char[] array, int at, char value) {
+        char[] result = new char[array.length + 1];
+        System.arraycopy(array, 0, result, 0, at);
+        result[at] = value;
+        System.arraycopy(array, at, result, at + 1, array.length - at);
+        return result;
+    }
+
+    private static Node[] insert(Node[] array, int at, Node value) {
+        Node[] result = new Node[array.length + 1];
+        System.arraycopy(array, 0, result, 0, at);
+        result[at] = value;
+        System.arraycopy(array, at, result, at + 1, array.length - at);
+        return result;
+    }
+}
@@ -0,0 +1,10 @@
+package com.primecrm.modules.search;
+
+import java.util.UUID;
+
+public record Suggestion(Type type, UUID id, String label) {
+
+    public enum Type {
+        CONTACT, COMPANY, DEAL
+    }
+}
@@ -1,9 +1,19 @@
 package com.primecrm.modules.test;
 
+import com.primecrm.core.CollectionVersions;
+import com.primecrm.modules.activity.ActivityReminders;
 import com.primecrm.modules.activity.ActivityRepository;
+import com.primecrm.modules.analytics.DailyRollupService;
+import com.primecrm.modules.dashboard.DashboardStatsStore;
+import com.primecrm.modules.search.SuggestIndex;
 import com.primecrm.modules.sales.DealRepository;
+import com.primecrm.modules.sales.DealService;
 import com.primecrm.modules.crm.ContactRepository;
 import com.primecrm.modules.crm.CompanyRepository;
+import com.primecrm.modules.crm.CompanyService;
+import com.primecrm.modules.crm.ContactDuplicateRepository;
+import com.primecrm.modules.crm.ContactSearchIndex;
+import com.primecrm.modules.crm.ContactService;
 import com.primecrm.modules.user.UserRepository;
 import com.primecrm.modules.user.User;
 import com.primecrm.modules.user.User.UserRole;
@@ -22,16 +32,30 @@ public class TestService {
     private final DealRepository dealRepository;
     private final ContactRepository contactRepository;
     private final CompanyRepository companyRepository;
+    private final ContactDuplicateRepository contactDuplicateRepository;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final DailyRollupService dailyRollupService;
+    private final DashboardStatsStore dashboardStatsStore;
+    private final CollectionVersions collectionVersions;
+    private final ContactSearchIndex contactSearchIndex;
+    private final SuggestIndex suggestIndex;
+    private final ActivityReminders activityReminders;
 
     @Transactional
     public void resetDatabase() {
         activityRepository.deleteAll();
         dealRepository.deleteAll();
+        contactDuplicateRepository.deleteAll();
         contactRepository.deleteAll();
         companyRepository.deleteAll();
         userRepository.deleteAll();
+        dailyRollupService.rebuild();
+        dashboardStatsStore.reconcile();
+        collectionVersions.bump(ContactService.COLLECTION, CompanyService.COLLECTION, DealService.COLLECTION);
+        contactSearchIndex.clear();
+        suggestIndex.clear();
+        activityReminders.clear();
     }
 
     @Transactional
@@ -9,7 +9,13 @@ import lombok.*;
 import java.util.Set;
 
 @Entity
-@Table(name = "users")
+@jakarta.persistence.Cacheable
+@org.hibernate.annotations.Cache(usage = org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_user_email_id", columnList = "email, id"),
+        @Index(name = "idx_user_last_name_id", columnList = "last_name, id"),
+        @Index(name = "idx_user_created_at_id", columnList = "created_at, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -35,6 +41,7 @@ public class User extends BaseEntity {
     private String passwordHash;
 
     @ElementCollection(fetch = FetchType.EAGER)
+    @org.hibernate.annotations.Cache(usage = org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE, region = "user-roles")
     @Enumerated(EnumType.STRING)
     @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"))
     @Column(name = "role")
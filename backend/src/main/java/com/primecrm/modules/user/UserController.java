@@ -1,5 +1,6 @@
 package com.primecrm.modules.user;
 
+import com.primecrm.core.search.CursorPageRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -7,6 +8,7 @@ import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
@@ -20,8 +22,12 @@ public class UserController {
     private final UserService userService;
 
     @GetMapping
-    public ResponseEntity<Iterable<User>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<List<User>> getAllUsers(
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        CursorPageRequest page = CursorPageRequest.of(sort, cursor, limit, UserService.SORTABLE_FIELDS);
+        return userService.getUsers(page).toResponseEntity();
     }
 
     @PostMapping
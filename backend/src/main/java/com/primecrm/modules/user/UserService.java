@@ -1,6 +1,9 @@
 package com.primecrm.modules.user;
 
 import jakarta.transaction.Transactional;
+import com.primecrm.core.search.CursorPage;
+import com.primecrm.core.search.CursorPageRequest;
+import com.primecrm.core.search.KeysetPagination;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -15,6 +18,8 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class UserService {
 
+    public static final Set<String> SORTABLE_FIELDS = Set.of("email", "lastName");
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
 
@@ -41,8 +46,8 @@ public class UserService {
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
     }
 
-    public Iterable<User> getAllUsers() {
-        return userRepository.findAll();
+    public CursorPage<User> getUsers(CursorPageRequest page) {
+        return KeysetPagination.fetch(userRepository, null, page);
     }
 
     @Transactional
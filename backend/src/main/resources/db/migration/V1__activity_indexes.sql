@@ -0,0 +1,19 @@
+-- Activities are the first table whose schema is owned by Flyway. On a fresh database Flyway runs before
+-- Hibernate, so the table is declared here; ddl-auto=update only ever adds to it afterwards.
+CREATE TABLE IF NOT EXISTS activities (
+    id          uuid         NOT NULL PRIMARY KEY,
+    created_at  timestamp(6) NOT NULL,
+    updated_at  timestamp(6) NOT NULL,
+    subject     varchar(255),
+    description varchar(255),
+    type        varchar(255) NOT NULL CHECK (type IN ('CALL', 'MEETING', 'TASK', 'NOTE', 'EMAIL')),
+    due_date    timestamp(6),
+    completed   boolean      NOT NULL,
+    contact_id  uuid,
+    deal_id     uuid,
+    owner_id    uuid
+);
+
+-- findByContactId, findByDealId and the keyset-paged timelines (newest first, id as tie-breaker)
+CREATE INDEX IF NOT EXISTS idx_activity_contact_timeline ON activities (contact_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_activity_deal_timeline ON activities (deal_id, created_at, id);
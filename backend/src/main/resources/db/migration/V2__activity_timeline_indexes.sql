@@ -0,0 +1,6 @@
+-- Databases that adopted Flyway before V1 existed were baselined at version 1, so V1 never ran there and
+-- the indexes it declares are missing. They are declared again here; everywhere V1 did run this is a no-op.
+
+-- findByContactId, findByDealId and the keyset-paged timelines (newest first, id as tie-breaker)
+CREATE INDEX IF NOT EXISTS idx_activity_contact_timeline ON activities (contact_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_activity_deal_timeline ON activities (deal_id, created_at, id);
@@ -0,0 +1,16 @@
+-- Contacts are still created by ddl-auto, but on a fresh database Flyway runs first, so the table is
+-- declared here for the index below. Hibernate adds the company foreign key afterwards.
+CREATE TABLE IF NOT EXISTS contacts (
+    id         uuid         NOT NULL PRIMARY KEY,
+    created_at timestamp(6) NOT NULL,
+    updated_at timestamp(6) NOT NULL,
+    first_name varchar(255),
+    last_name  varchar(255),
+    email      varchar(255),
+    phone      varchar(255),
+    job_title  varchar(255),
+    company_id uuid
+);
+
+-- The CSV import matches emails case-insensitively (ContactImportRepository.findExistingEmails)
+CREATE INDEX IF NOT EXISTS idx_contact_email_lower ON contacts (lower(email));
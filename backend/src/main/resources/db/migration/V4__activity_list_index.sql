@@ -0,0 +1,2 @@
+-- /api/activities pages newest first over the whole table, (created_at, id) with id as tie-breaker
+CREATE INDEX IF NOT EXISTS idx_activity_created_at_id ON activities (created_at, id);
@@ -0,0 +1,58 @@
+package com.primecrm.core;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JwtServiceTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private final JwtService jwtService = new JwtService(SECRET, 60_000);
+
+    private final UserDetails admin = User.withUsername("admin@primecrm.com")
+            .password("hash")
+            .roles("ADMIN", "SALES_REP")
+            .build();
+
+    @Test
+    public void givenGeneratedToken_whenParsed_thenSubjectAndRolesComeFromClaims() {
+        Claims claims = jwtService.parseToken(jwtService.generateToken(admin));
+
+        assertThat(claims.getSubject()).isEqualTo("admin@primecrm.com");
+        assertThat(jwtService.extractAuthorities(claims))
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("ROLE_ADMIN", "ROLE_SALES_REP");
+    }
+
+    @Test
+    public void givenTokenWithoutRoles_whenAuthoritiesExtracted_thenEmpty() {
+        UserDetails user = User.withUsername("rep@primecrm.com").password("hash").authorities(new String[0]).build();
+
+        Claims claims = jwtService.parseToken(jwtService.generateToken(user));
+
+        assertThat(jwtService.extractAuthorities(claims)).isEmpty();
+    }
+
+    @Test
+    public void givenExpiredToken_whenParsed_thenRejected() {
+        String token = new JwtService(SECRET, -1_000).generateToken(admin);
+
+        assertThatThrownBy(() -> jwtService.parseToken(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    public void givenTokenSignedWithAnotherKey_whenParsed_thenRejected() {
+        String token = new JwtService("c2VjcmV0LWtleS10aGF0LWlzLWxvbmctZW5vdWdoLWZvci1obWFjLXNoYTI1Ng==", 60_000)
+                .generateToken(admin);
+
+        assertThatThrownBy(() -> jwtService.parseToken(token)).isInstanceOf(SignatureException.class);
+    }
+}
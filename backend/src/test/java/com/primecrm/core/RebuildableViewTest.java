@@ -0,0 +1,48 @@
+package com.primecrm.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RebuildableViewTest {
+
+    private final RebuildableView<List<String>> view = new RebuildableView<>(new ArrayList<>(List.of("old")));
+
+    @Test
+    public void givenWriteDuringRebuild_whenSwapped_thenReplayedOntoNewView() {
+        List<String> rebuilt = view.rebuild(() -> {
+            view.apply(current -> current.add("written"));
+            return new ArrayList<>(List.of("loaded"));
+        });
+
+        assertThat(rebuilt).containsExactly("loaded", "written");
+        List<String> current = view.read(List::copyOf);
+        assertThat(current).containsExactly("loaded", "written");
+    }
+
+    @Test
+    public void givenFailedRebuild_whenWritten_thenOldViewKeptAndNothingQueued() {
+        assertThatThrownBy(() -> view.rebuild(() -> {
+            throw new IllegalStateException("read failed");
+        })).isInstanceOf(IllegalStateException.class);
+        view.apply(current -> current.add("written"));
+
+        List<String> rebuilt = view.rebuild(ArrayList::new);
+
+        assertThat(rebuilt).isEmpty();
+    }
+
+    @Test
+    public void givenUpdateDuringRebuild_whenSwapped_thenNotReplayed() {
+        List<String> rebuilt = view.rebuild(() -> {
+            view.update(current -> current.add("tick"));
+            return new ArrayList<>();
+        });
+
+        assertThat(rebuilt).isEmpty();
+    }
+}
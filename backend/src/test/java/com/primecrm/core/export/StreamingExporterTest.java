@@ -0,0 +1,75 @@
+package com.primecrm.core.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class StreamingExporterTest {
+
+    record Row(String name, Integer score) {
+    }
+
+    private static final List<ExportColumn<Row>> COLUMNS = List.of(
+            ExportColumn.of("name", Row::name),
+            ExportColumn.of("score", Row::score));
+
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private StreamingExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        exporter = new StreamingExporter(entityManager, objectMapper, transactionManager);
+    }
+
+    @Test
+    void shouldWriteOneJsonObjectPerLine() throws Exception {
+        ResponseEntity<StreamingResponseBody> response = exporter.export("rows", ExportFormat.NDJSON, false, COLUMNS,
+                () -> Stream.of(new Row("Ada", 3), new Row("Bob", null)));
+
+        assertThat(response.getHeaders().getContentType()).hasToString("application/x-ndjson");
+        assertThat(write(response)).isEqualTo("{\"name\":\"Ada\",\"score\":3}\n{\"name\":\"Bob\",\"score\":null}\n");
+    }
+
+    @Test
+    void shouldQuoteCsvFieldsAndGzipWhenRequested() throws Exception {
+        ResponseEntity<StreamingResponseBody> response = exporter.export("rows", ExportFormat.CSV, true, COLUMNS,
+                () -> Stream.of(new Row("Smith, \"Jr\"", 1), new Row("Lee", null)));
+
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        String csv = new String(new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())).readAllBytes(),
+                StandardCharsets.UTF_8);
+        assertThat(csv).isEqualTo("name,score\r\n\"Smith, \"\"Jr\"\"\",1\r\nLee,\r\n");
+    }
+
+    private String write(ResponseEntity<StreamingResponseBody> response) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
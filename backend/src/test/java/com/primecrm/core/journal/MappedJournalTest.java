@@ -0,0 +1,136 @@
+package com.primecrm.core.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MappedJournalTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void givenAppendedRecords_whenRead_thenReturnedInOrderUntilCommitted() {
+        MappedJournal journal = MappedJournal.open(dir, SEGMENT_SIZE, 8);
+        journal.append(records("a", "b"));
+        journal.append(records("c"));
+
+        MappedJournal.Batch first = journal.read(2);
+        assertThat(strings(first)).containsExactly("a", "b");
+        assertThat(strings(journal.read(10))).containsExactly("a", "b", "c");
+
+        journal.commit(first.end());
+        assertThat(strings(journal.read(10))).containsExactly("c");
+    }
+
+    @Test
+    public void givenRecordsSpanningSegments_whenCommitted_thenConsumedSegmentsAreDeleted() throws IOException {
+        MappedJournal journal = MappedJournal.open(dir, SEGMENT_SIZE, 8);
+        List<String> written = IntStream.range(0, 40).mapToObj(i -> i + "-" + "x".repeat(300)).toList();
+        written.forEach(value -> journal.append(records(value)));
+
+        MappedJournal.Batch batch = journal.read(100);
+        assertThat(strings(batch)).isEqualTo(written);
+        assertThat(segmentFiles()).hasSizeGreaterThan(1);
+
+        journal.commit(batch.end());
+        assertThat(segmentFiles()).hasSize(1);
+        assertThat(journal.read(100).isEmpty()).isTrue();
+    }
+
+    @Test
+    public void givenReopenedJournal_whenRead_thenResumesFromCheckpoint() {
+        MappedJournal journal = MappedJournal.open(dir, SEGMENT_SIZE, 8);
+        journal.append(records("a", "b", "c"));
+        journal.commit(journal.read(1).end());
+
+        MappedJournal reopened = MappedJournal.open(dir, SEGMENT_SIZE, 8);
+
+        MappedJournal.Batch batch = reopened.read(10);
+        assertThat(strings(batch)).containsExactly("b", "c");
+    }
+
+    @Test
+    public void givenTornTail_whenReopened_thenOnlyIntactRecordsSurviveAndAppendsContinue() throws IOException {
+        MappedJournal journal = MappedJournal.open(dir, SEGMENT_SIZE, 8);
+        journal.append(records("intact"));
+        MappedJournal.Position end = journal.append(records("torn"));
+        // Corrupt the payload of the last record as a crash mid-write would
+        try (RandomAccessFile file = new RandomAccessFile(segmentFiles().get(0).toFile(), "rw")) {
+            file.seek(end.offset() - 1);
+            file.write('X');
+        }
+
+        MappedJournal reopened = MappedJournal.open(dir, SEGMENT_SIZE, 8);
+        assertThat(strings(reopened.read(10))).containsExactly("intact");
+
+        reopened.append(records("next"));
+        assertThat(strings(MappedJournal.open(dir, SEGMENT_SIZE, 8).read(10))).containsExactly("intact", "next");
+    }
+
+    @Test
+    public void givenFullJournal_whenAppended_thenRejectedWithoutPartialWrites() {
+        MappedJournal journal = MappedJournal.open(dir, SEGMENT_SIZE, 2);
+        String big = "x".repeat(3000);
+        journal.append(records(big, big));
+
+        assertThatThrownBy(() -> journal.append(records("small", big)))
+                .isInstanceOf(JournalFullException.class);
+        assertThat(journal.read(10).records()).hasSize(2);
+        assertThatThrownBy(() -> journal.append(records("y".repeat(SEGMENT_SIZE))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void givenConcurrentAppenders_whenRead_thenEveryRecordIsPresentOnce() throws Exception {
+        MappedJournal journal = MappedJournal.open(dir, 64 * 1024, 64);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            int t = thread;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 200; i++) {
+                    journal.append(records(t + ":" + i));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        List<String> read = strings(journal.read(10_000));
+        assertThat(read).hasSize(1600).doesNotHaveDuplicates();
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> path.toString().endsWith(".seg")).sorted().toList();
+        }
+    }
+
+    private static List<byte[]> records(String... values) {
+        return Stream.of(values).map(value -> value.getBytes(StandardCharsets.UTF_8)).toList();
+    }
+
+    private static List<String> strings(MappedJournal.Batch batch) {
+        return batch.records().stream().map(bytes -> new String(bytes, StandardCharsets.UTF_8)).toList();
+    }
+}
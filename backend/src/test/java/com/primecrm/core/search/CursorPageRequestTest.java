@@ -0,0 +1,69 @@
+package com.primecrm.core.search;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CursorPageRequestTest {
+
+    private static final Set<String> SORTABLE = Set.of("value", "title");
+
+    @Test
+    public void givenNoParams_whenOf_thenNewestFirstWithDefaultLimit() {
+        CursorPageRequest page = CursorPageRequest.of(null, null, null, SORTABLE);
+
+        assertThat(page.sortField()).isEqualTo("createdAt");
+        assertThat(page.direction()).isEqualTo(Sort.Direction.DESC);
+        assertThat(page.limit()).isEqualTo(CursorPageRequest.DEFAULT_LIMIT);
+        assertThat(page.after()).isNull();
+        assertThat(page.toSort()).containsExactly(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+    }
+
+    @Test
+    public void givenEncodedCursor_whenOf_thenRoundTrips() {
+        UUID id = UUID.randomUUID();
+        CursorPageRequest first = CursorPageRequest.of("value,desc", null, 50, SORTABLE);
+        String cursor = first.encodeCursor(new BigDecimal("1500.00"), id);
+
+        CursorPageRequest next = CursorPageRequest.of("value,desc", cursor, 50, SORTABLE);
+
+        assertThat(next.after()).isEqualTo(new CursorPageRequest.Cursor("1500.00", id));
+    }
+
+    @Test
+    public void givenNullSortValue_whenEncoded_thenDistinctFromTheTextNull() {
+        UUID id = UUID.randomUUID();
+        CursorPageRequest first = CursorPageRequest.of("title,asc", null, 50, SORTABLE);
+
+        CursorPageRequest afterNull = CursorPageRequest.of("title,asc", first.encodeCursor(null, id), 50, SORTABLE);
+        CursorPageRequest afterText = CursorPageRequest.of("title,asc", first.encodeCursor("null", id), 50, SORTABLE);
+
+        assertThat(afterNull.after()).isEqualTo(new CursorPageRequest.Cursor(null, id));
+        assertThat(afterText.after()).isEqualTo(new CursorPageRequest.Cursor("null", id));
+    }
+
+    @Test
+    public void givenCursorFromOtherSort_whenOf_thenRejected() {
+        String cursor = CursorPageRequest.of("value,desc", null, null, SORTABLE)
+                .encodeCursor(BigDecimal.TEN, UUID.randomUUID());
+
+        assertThatThrownBy(() -> CursorPageRequest.of("title,asc", cursor, null, SORTABLE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void givenUnknownFieldOrLimit_whenOf_thenRejected() {
+        assertThatThrownBy(() -> CursorPageRequest.of("password", null, null, SORTABLE))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CursorPageRequest.of(null, null, CursorPageRequest.MAX_LIMIT + 1, SORTABLE))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CursorPageRequest.of(null, "not-a-cursor", null, SORTABLE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
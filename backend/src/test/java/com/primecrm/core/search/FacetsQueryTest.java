@@ -0,0 +1,124 @@
+package com.primecrm.core.search;
+
+import com.primecrm.modules.sales.Deal;
+import jakarta.persistence.EntityManager;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+// Runs the facet queries against Postgres, which is strict about GROUP BY expressions. Skipped where
+// Docker is unavailable.
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.primecrm.core.search.FacetsQueryTest$RecordingInspector")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class FacetsQueryTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private final Facets<Deal> facets = Facets.of(Deal.class)
+            .terms("stage", "stage")
+            .ranges("valueBand", "value", 1_000, 10_000, 50_000);
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Three LEAD, two QUALIFIED and one PROPOSAL deal; one value per band except 1000-10000, which has two,
+    // and none at or above 50000. Bounds are inclusive below and exclusive above.
+    @BeforeEach
+    void seed() {
+        insertDeal("LEAD", 500);
+        insertDeal("LEAD", 1_000);
+        insertDeal("LEAD", 9_999);
+        insertDeal("QUALIFIED", 10_000);
+        insertDeal("QUALIFIED", 49_999);
+        insertDeal("PROPOSAL", 0);
+        RecordingInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    public void givenDeals_whenTermsCounted_thenBucketsOrderedByCount() {
+        Facets.Result stage = facets.count(entityManager, null, "stage", null).get("stage");
+
+        assertThat(stage.buckets())
+                .extracting(Facets.Bucket::key, Facets.Bucket::count)
+                .containsExactly(
+                        tuple(Deal.DealStage.LEAD, 3L),
+                        tuple(Deal.DealStage.QUALIFIED, 2L),
+                        tuple(Deal.DealStage.PROPOSAL, 1L));
+        assertThat(stage.truncated()).isFalse();
+    }
+
+    @Test
+    public void givenMoreTermsThanBuckets_whenCounted_thenCutAndTruncated() {
+        Facets.Result stage = facets.count(entityManager, null, "stage", 2).get("stage");
+
+        assertThat(stage.buckets())
+                .extracting(Facets.Bucket::key)
+                .containsExactly(Deal.DealStage.LEAD, Deal.DealStage.QUALIFIED);
+        assertThat(stage.truncated()).isTrue();
+    }
+
+    @Test
+    public void givenDeals_whenRangesCounted_thenEveryBandCountedInOneQuery() {
+        Facets.Result valueBand = facets.count(entityManager, null, "valueBand", null).get("valueBand");
+
+        assertThat(valueBand.buckets())
+                .extracting(Facets.Bucket::key, Facets.Bucket::count)
+                .containsExactly(
+                        tuple("<1000", 2L),
+                        tuple("1000-10000", 2L),
+                        tuple("10000-50000", 2L),
+                        tuple(">=50000", 0L));
+        assertThat(valueBand.truncated()).isFalse();
+        assertThat(RecordingInspector.STATEMENTS).hasSize(1);
+    }
+
+    @Test
+    public void givenFilter_whenRangesCounted_thenOnlyMatchingRowsCounted() {
+        Map<String, Facets.Result> results = facets.count(entityManager,
+                (root, query, builder) -> builder.equal(root.get("stage"), Deal.DealStage.LEAD), "valueBand", null);
+
+        assertThat(results.get("valueBand").buckets())
+                .extracting(Facets.Bucket::count)
+                .containsExactly(1L, 2L, 0L, 0L);
+    }
+
+    private void insertDeal(String stage, long value) {
+        jdbcTemplate.update("""
+                INSERT INTO deals (id, created_at, updated_at, title, value, stage, contact_id)
+                VALUES (gen_random_uuid(), now(), now(), 'Deal', ?, ?, gen_random_uuid())
+                """, value, stage);
+    }
+
+    public static class RecordingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
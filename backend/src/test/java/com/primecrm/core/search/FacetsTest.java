@@ -0,0 +1,35 @@
+package com.primecrm.core.search;
+
+import com.primecrm.modules.sales.Deal;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+public class FacetsTest {
+
+    private final Facets<Deal> facets = Facets.of(Deal.class)
+            .terms("stage", "stage")
+            .ranges("valueBand", "value", 1_000, 10_000);
+
+    @Test
+    public void givenUnknownFacetOrBucketLimit_whenCount_thenRejectedBeforeQuerying() {
+        EntityManager entityManager = mock(EntityManager.class);
+
+        assertThatThrownBy(() -> facets.count(entityManager, null, "stage,owner", null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown facet 'owner'");
+        assertThatThrownBy(() -> facets.count(entityManager, null, null, Facets.MAX_BUCKETS + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    public void givenRangeWithoutBounds_whenDeclared_thenRejected() {
+        assertThatThrownBy(() -> Facets.of(Deal.class).ranges("valueBand", "value"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("valueBand");
+    }
+}
@@ -0,0 +1,75 @@
+package com.primecrm.core.search;
+
+import com.primecrm.modules.crm.ContactListItem;
+import com.primecrm.modules.crm.ContactService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Walks every page of a sort over a nullable column and compares the result with a single ORDER BY of
+// the whole table. Skipped where Docker is unavailable.
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class KeysetPaginationQueryTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Ties and NULLs both straddle page boundaries at a page size of 2
+    @BeforeEach
+    void seed() {
+        for (String lastName : new String[] { "Smith", null, "Smith", "Young", null, null, "Adams" }) {
+            jdbcTemplate.update("""
+                    INSERT INTO contacts (id, created_at, updated_at, first_name, last_name)
+                    VALUES (gen_random_uuid(), now(), now(), 'Sam', ?)
+                    """, lastName);
+        }
+    }
+
+    @Test
+    public void givenNullLastNames_whenPagedAscending_thenEveryRowOnceInSqlOrder() {
+        assertThat(pageThrough("lastName,asc")).containsExactlyElementsOf(
+                jdbcTemplate.queryForList("SELECT id FROM contacts ORDER BY last_name ASC, id ASC", UUID.class));
+    }
+
+    @Test
+    public void givenNullLastNames_whenPagedDescending_thenEveryRowOnceInSqlOrder() {
+        assertThat(pageThrough("lastName,desc")).containsExactlyElementsOf(
+                jdbcTemplate.queryForList("SELECT id FROM contacts ORDER BY last_name DESC, id DESC", UUID.class));
+    }
+
+    private List<UUID> pageThrough(String sort) {
+        List<UUID> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageRequest page = CursorPageRequest.of(sort, cursor, 2, ContactService.SORTABLE_FIELDS);
+            CursorPage<ContactListItem> fetched = KeysetPagination.fetch(entityManager, ContactService.LIST_VIEW, null,
+                    page, "lastName");
+            fetched.items().forEach(item -> ids.add(item.id()));
+            cursor = fetched.nextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+}
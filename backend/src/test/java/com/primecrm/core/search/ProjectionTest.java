@@ -0,0 +1,47 @@
+package com.primecrm.core.search;
+
+import com.primecrm.modules.sales.Deal;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ProjectionTest {
+
+    record DealRow(UUID id, String title, BigDecimal value, String description) {
+    }
+
+    record PrimitiveRow(UUID id, int count) {
+    }
+
+    private final Projection<Deal, DealRow> projection = Projection.of(Deal.class, DealRow.class)
+            .optional("description");
+
+    @Test
+    public void givenNoFields_whenResolve_thenRecordComponentsWithoutOptionalOnes() {
+        assertThat(projection.resolve(null)).containsExactly("id", "title", "value");
+        assertThat(projection.resolve(" value, description ,")).containsExactly("id", "value", "description");
+        assertThatThrownBy(() -> projection.resolve("title,stage")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void givenRowInSelectionOrder_whenToView_thenUnrequestedAndExtraColumnsAreNull() {
+        UUID id = UUID.randomUUID();
+        List<String> selected = List.of("value", "id", "title");
+
+        DealRow row = projection.toView(selected, 2, new Object[] { BigDecimal.TEN, id, "Renewal" });
+
+        assertThat(row).isEqualTo(new DealRow(id, null, BigDecimal.TEN, null));
+    }
+
+    @Test
+    public void givenInvalidViews_whenDeclared_thenRejected() {
+        assertThatThrownBy(() -> Projection.of(Deal.class, PrimitiveRow.class))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> projection.path("stage", "stage")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,73 @@
+package com.primecrm.core.search;
+
+import com.primecrm.modules.sales.Deal;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SearchSchemaTest {
+
+    private final SearchSchema<Deal> schema = SearchSchema.of(Deal.class)
+            .field("title")
+            .field("value")
+            .field("stage")
+            .field("contactId")
+            .field("createdAt");
+
+    @Test
+    public void givenValuesWithOperatorsAndEscapedCommas_whenParse_thenSinglePass() {
+        List<SearchCriteria> criteria = SearchCriteria.parse(" value > 1000 ,title:Re: renewal\\, 2025,stage:lead,");
+
+        assertThat(criteria).containsExactly(
+                new SearchCriteria("value", ">", "1000"),
+                new SearchCriteria("title", ":", "Re: renewal, 2025"),
+                new SearchCriteria("stage", ":", "lead"));
+        assertThat(SearchCriteria.parse(null)).isEmpty();
+        assertThatThrownBy(() -> SearchCriteria.parse("value=1")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SearchCriteria.parse("title:")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void givenWhitelistedFields_whenCoerce_thenValuesTypedInShapeOrder() {
+        UUID contactId = UUID.randomUUID();
+        List<SearchCriteria> typed = schema.coerce(SearchCriteria.parse(
+                "value>1000,stage:lead,contactId:" + contactId + ",createdAt<2025-01-31"));
+
+        assertThat(typed).containsExactly(
+                new SearchCriteria("contactId", ":", contactId),
+                new SearchCriteria("createdAt", "<", LocalDateTime.of(2025, 1, 31, 23, 59, 59, 999_999_000)),
+                new SearchCriteria("stage", ":", Deal.DealStage.LEAD),
+                new SearchCriteria("value", ">", new BigDecimal("1000")));
+    }
+
+    @Test
+    public void givenSameShapeWithOtherValues_whenCoerce_thenBindsNewValues() {
+        schema.coerce(SearchCriteria.parse("value>1,createdAt>2025-01-01"));
+
+        assertThat(schema.coerce(SearchCriteria.parse("createdAt>2025-02-01T10:15:00,value>2")))
+                .containsExactly(
+                        new SearchCriteria("createdAt", ">", LocalDateTime.of(2025, 2, 1, 10, 15)),
+                        new SearchCriteria("value", ">", new BigDecimal("2")));
+    }
+
+    @Test
+    public void givenUnknownFieldBadValueOrOperator_whenCoerce_thenRejected() {
+        assertThatThrownBy(() -> schema.coerce(SearchCriteria.parse("description:x")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown search field");
+        assertThatThrownBy(() -> schema.coerce(SearchCriteria.parse("value>lots")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> schema.coerce(SearchCriteria.parse("stage:WON")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> schema.coerce(SearchCriteria.parse("stage>LEAD")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> schema.coerce(SearchCriteria.parse("createdAt:2025-01-01")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
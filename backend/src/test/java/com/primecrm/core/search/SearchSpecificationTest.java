@@ -10,6 +10,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.math.BigDecimal;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -28,7 +30,7 @@ public class SearchSpecificationTest {
 
     @Test
     public void givenGreaterThan_whenToPredicate_thenBuilderCalled() {
-        SearchCriteria criteria = new SearchCriteria("value", ">", "100");
+        SearchCriteria criteria = new SearchCriteria("value", ">", new BigDecimal("100"));
         BaseSpecification<Contact> spec = new BaseSpecification<>(criteria);
 
         Path<Object> path = mock(Path.class);
@@ -36,12 +38,12 @@ public class SearchSpecificationTest {
 
         spec.toPredicate(root, query, builder);
 
-        verify(builder).greaterThanOrEqualTo(path.as(String.class), "100");
+        verify(builder).greaterThanOrEqualTo((Path) path, new BigDecimal("100"));
     }
 
     @Test
     public void givenLessThan_whenToPredicate_thenBuilderCalled() {
-        SearchCriteria criteria = new SearchCriteria("value", "<", "100");
+        SearchCriteria criteria = new SearchCriteria("value", "<", new BigDecimal("100"));
         BaseSpecification<Contact> spec = new BaseSpecification<>(criteria);
 
         Path<Object> path = mock(Path.class);
@@ -49,7 +51,7 @@ public class SearchSpecificationTest {
 
         spec.toPredicate(root, query, builder);
 
-        verify(builder).lessThanOrEqualTo(path.as(String.class), "100");
+        verify(builder).lessThanOrEqualTo((Path) path, new BigDecimal("100"));
     }
 
     @Test
@@ -87,6 +89,23 @@ public class SearchSpecificationTest {
 
         spec.toPredicate(root, query, builder);
 
-        verify(builder).like(expression, "%john%");
+        verify(builder).like(expression, "%john%", '\\');
+    }
+
+    @Test
+    public void givenLikeWildcardsInValue_whenToPredicate_thenEscaped() {
+        SearchCriteria criteria = new SearchCriteria("email", ":", "50%_off\\");
+        BaseSpecification<Contact> spec = new BaseSpecification<>(criteria);
+
+        Path<Object> path = mock(Path.class);
+        when(root.get("email")).thenReturn(path);
+        when(path.getJavaType()).thenReturn((Class) String.class);
+        jakarta.persistence.criteria.Expression<String> expression = mock(
+                jakarta.persistence.criteria.Expression.class);
+        when(builder.lower(any())).thenReturn(expression);
+
+        spec.toPredicate(root, query, builder);
+
+        verify(builder).like(expression, "%50\\%\\_off\\\\%", '\\');
     }
 }
@@ -0,0 +1,82 @@
+package com.primecrm.core.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TrigramIndexTest {
+
+    private final UUID jane = UUID.randomUUID();
+    private final UUID john = UUID.randomUUID();
+    private final UUID anna = UUID.randomUUID();
+
+    private TrigramIndex index() {
+        TrigramIndex index = new TrigramIndex("name", "email");
+        index.put(jane, "Jane Johnson", "jane@acme.com");
+        index.put(john, "John Smith", "john@globex.com");
+        index.put(anna, "Anna Banana", null);
+        return index;
+    }
+
+    @Test
+    public void givenSubstring_whenSearch_thenMatchesLikeCaseInsensitively() {
+        TrigramIndex index = index();
+
+        assertThat(index.search("name", "JOHN", 10)).containsExactlyInAnyOrder(jane, john);
+        assertThat(index.search("name", "nana", 10)).containsExactly(anna);
+        assertThat(index.search("email", "acme", 10)).containsExactly(jane);
+        assertThat(index.search("email", "john", 10)).containsExactly(john);
+        assertThat(index.search("name", "xyz", 10)).isEmpty();
+    }
+
+    @Test
+    public void givenTrigramsOutOfOrder_whenSearch_thenVerifiedAgainstValue() {
+        TrigramIndex index = index();
+
+        // "nan", "ann" and "nna" all occur in "anna banana", "nanna" does not
+        assertThat(index.search("name", "nanna", 10)).isEmpty();
+        assertThat(index.search("name", "banana", 10)).containsExactly(anna);
+    }
+
+    @Test
+    public void givenShortTerm_whenSearch_thenScansValues() {
+        assertThat(index().search("name", "an", 10)).containsExactlyInAnyOrder(jane, anna);
+    }
+
+    @Test
+    public void givenRewrittenOrRemovedDocument_whenSearch_thenOnlyCurrentValuesMatch() {
+        TrigramIndex index = index();
+        index.put(john, "Jonathan Smith", "jon@globex.com");
+        index.remove(jane);
+
+        assertThat(index.search("name", "john", 10)).isEmpty();
+        assertThat(index.search("name", "jonathan", 10)).containsExactly(john);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void givenManyRemovals_whenCompacted_thenSearchStillCorrect() {
+        TrigramIndex index = new TrigramIndex("name");
+        for (int i = 0; i < 5000; i++) {
+            UUID id = UUID.randomUUID();
+            index.put(id, "contact " + i);
+            if (i % 3 != 0) {
+                index.remove(id);
+            }
+        }
+
+        assertThat(index.size()).isEqualTo(1667);
+        assertThat(index.search("name", "contact 4", 10_000)).hasSize(3 + 33 + 333);
+    }
+
+    @Test
+    public void givenTooManyMatchesOrUnknownField_whenSearch_thenNullOrRejected() {
+        TrigramIndex index = index();
+
+        assertThat(index.search("name", "j", 1)).isNull();
+        assertThatThrownBy(() -> index.search("phone", "555", 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
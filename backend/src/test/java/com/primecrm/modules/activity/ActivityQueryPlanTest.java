@@ -0,0 +1,257 @@
+package com.primecrm.modules.activity;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.primecrm.core.search.CursorPageRequest;
+import com.primecrm.core.search.KeysetPagination;
+import jakarta.persistence.EntityManager;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Seeds a realistic activity volume into Postgres and EXPLAINs the SQL Hibernate generates for every
+// ActivityRepository query method and for the keyset pages behind the list and timeline endpoints. A hot
+// query that falls back to a sequential scan, sorts activities rows or costs more than its share of a full
+// table scan fails the build. Skipped where Docker is unavailable.
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.primecrm.modules.activity.ActivityQueryPlanTest$RecordingInspector")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ActivityQueryPlanTest {
+
+    private static final int ACTIVITIES = 200_000;
+    private static final int CONTACTS = 2_000;
+    private static final int DEALS = 3_000;
+    private static final int OWNERS = 500;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static boolean seeded;
+
+    // Budget per query method, as a fraction of the cost of scanning the whole table. Plans are generic, so
+    // the arguments only need to be well-formed. Streaming exports read everything by design and may scan.
+    private static final Map<String, PlanBudget<ActivityRepository>> BUDGETS = Map.of(
+            "findByContactId", PlanBudget.of(0.1, repo -> repo.findByContactId(UUID.randomUUID())),
+            "findByDealId", PlanBudget.of(0.1, repo -> repo.findByDealId(UUID.randomUUID())),
+            "streamAll", PlanBudget.fullScan(repo -> {
+                try (var rows = repo.streamAll()) {
+                    rows.findFirst();
+                }
+            }));
+
+    private static final CursorPageRequest FIRST_PAGE = CursorPageRequest.of(null, null, 50, Set.of());
+    private static final CursorPageRequest NEXT_PAGE = CursorPageRequest.of(null,
+            FIRST_PAGE.encodeCursor(LocalDateTime.now(), UUID.randomUUID()), 50, Set.of());
+
+    // The first and a later page of the contact and deal timelines, of one company timeline merge source
+    // (a batch of 100 contacts) and of /api/activities, all newest first.
+    private static final Map<String, PlanBudget<EntityManager>> PAGE_BUDGETS = Map.of(
+            "contactTimeline", PlanBudget.of(0.1, em -> timeline(em, "contactId", FIRST_PAGE)),
+            "contactTimelineNextPage", PlanBudget.of(0.1, em -> timeline(em, "contactId", NEXT_PAGE)),
+            "dealTimeline", PlanBudget.of(0.1, em -> timeline(em, "dealId", FIRST_PAGE)),
+            "dealTimelineNextPage", PlanBudget.of(0.1, em -> timeline(em, "dealId", NEXT_PAGE)),
+            "companyTimelineSource", PlanBudget.of(0.25, em -> companySource(em, FIRST_PAGE)),
+            "companyTimelineSourceNextPage", PlanBudget.of(0.25, em -> companySource(em, NEXT_PAGE)),
+            "activities", PlanBudget.of(0.5, em -> activities(em, FIRST_PAGE)),
+            "activitiesNextPage", PlanBudget.of(0.5, em -> activities(em, NEXT_PAGE)));
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void seed() {
+        if (seeded) {
+            return;
+        }
+        // Mostly completed activities, with the open ones spread over every type
+        jdbcTemplate.update("""
+                INSERT INTO activities (id, created_at, updated_at, subject, type, due_date, completed,
+                                        contact_id, deal_id, owner_id)
+                SELECT gen_random_uuid(),
+                       now() - make_interval(mins => i),
+                       now(),
+                       'Activity ' || i,
+                       (ARRAY['CALL', 'MEETING', 'TASK', 'NOTE', 'EMAIL'])[1 + i % 5],
+                       now() + make_interval(days => i % 90),
+                       i % 7 <> 0,
+                       md5('contact' || i % ?)::uuid,
+                       CASE WHEN i % 2 = 0 THEN md5('deal' || i % ?)::uuid END,
+                       md5('owner' || i % ?)::uuid
+                FROM generate_series(1, ?) AS i
+                """, CONTACTS, DEALS, OWNERS, ACTIVITIES);
+        jdbcTemplate.execute("VACUUM ANALYZE activities");
+        seeded = true;
+    }
+
+    @Test
+    public void everyRepositoryQueryMethodHasAPlanBudget() {
+        List<String> methods = Arrays.stream(ActivityRepository.class.getDeclaredMethods())
+                .map(Method::getName)
+                .toList();
+
+        assertThat(BUDGETS).containsOnlyKeys(methods);
+    }
+
+    @Test
+    public void hotQueriesUseIndexesWithinCostBudget() throws Exception {
+        double fullScanCost = plan("SELECT * FROM activities").get("Total Cost").asDouble();
+        List<String> violations = new ArrayList<>();
+        for (Map.Entry<String, PlanBudget<ActivityRepository>> entry : new LinkedHashMap<>(BUDGETS).entrySet()) {
+            check(entry.getKey(), entry.getValue(), activityRepository, fullScanCost, violations);
+        }
+        for (Map.Entry<String, PlanBudget<EntityManager>> entry : new LinkedHashMap<>(PAGE_BUDGETS).entrySet()) {
+            check(entry.getKey(), entry.getValue(), entityManager, fullScanCost, violations);
+        }
+        assertThat(violations).isEmpty();
+    }
+
+    private <T> void check(String name, PlanBudget<T> budget, T target, double fullScanCost, List<String> violations)
+            throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        RecordingInspector.STATEMENTS.clear();
+        transaction.executeWithoutResult(status -> budget.invocation().accept(target));
+        assertThat(RecordingInspector.STATEMENTS).as(name).hasSize(1);
+
+        JsonNode plan = plan(toGenericPlanSql(RecordingInspector.STATEMENTS.get(0)));
+        if (budget.maxCostFraction() == null) {
+            return;
+        }
+        if (seqScansActivities(plan)) {
+            violations.add(name + " scans activities sequentially: " + plan);
+        }
+        // Rows must come off an index in order; sorting only rows already limited per index range is fine.
+        if (sortsActivities(plan)) {
+            violations.add(name + " sorts activities rows: " + plan);
+        }
+        double cost = plan.get("Total Cost").asDouble();
+        if (cost > budget.maxCostFraction() * fullScanCost) {
+            violations.add(name + " costs " + cost + ", budget is " + budget.maxCostFraction()
+                    + " x " + fullScanCost + ": " + plan);
+        }
+    }
+
+    private static void timeline(EntityManager entityManager, String attribute, CursorPageRequest page) {
+        KeysetPagination.fetch(entityManager, ActivityService.LIST_VIEW,
+                TimelineService.forEntity(attribute, UUID.randomUUID()), page, null);
+    }
+
+    private static void companySource(EntityManager entityManager, CursorPageRequest page) {
+        List<UUID> contactIds = Stream.generate(UUID::randomUUID).limit(100).toList();
+        new TimelineSource(entityManager, "contact_id", contactIds, page, List.of("id", "subject", "createdAt"))
+                .hasNext();
+    }
+
+    private static void activities(EntityManager entityManager, CursorPageRequest page) {
+        KeysetPagination.fetch(entityManager, ActivityService.LIST_VIEW, null, page, null);
+    }
+
+    // GENERIC_PLAN (Postgres 16) plans the statement with its parameters unbound, as a prepared statement would.
+    private JsonNode plan(String sql) throws Exception {
+        String json = jdbcTemplate.queryForObject("EXPLAIN (GENERIC_PLAN, FORMAT JSON) " + sql, String.class);
+        return objectMapper.readTree(json).get(0).get("Plan");
+    }
+
+    private static String toGenericPlanSql(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length());
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+
+    private static boolean seqScansActivities(JsonNode node) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())
+                && "activities".equals(node.path("Relation Name").asText())) {
+            return true;
+        }
+        for (JsonNode child : node.path("Plans")) {
+            if (seqScansActivities(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // A sort fed straight by a scan of activities, as opposed to one over rows already limited per index range.
+    private static boolean sortsActivities(JsonNode node) {
+        boolean sort = node.path("Node Type").asText().endsWith("Sort");
+        for (JsonNode child : node.path("Plans")) {
+            if (sort && scansActivities(child) || sortsActivities(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean scansActivities(JsonNode node) {
+        return "activities".equals(node.path("Relation Name").asText());
+    }
+
+    private record PlanBudget<T>(Double maxCostFraction, Consumer<T> invocation) {
+
+        static <T> PlanBudget<T> of(double maxCostFraction, Consumer<T> invocation) {
+            return new PlanBudget<>(maxCostFraction, invocation);
+        }
+
+        static <T> PlanBudget<T> fullScan(Consumer<T> invocation) {
+            return new PlanBudget<>(null, invocation);
+        }
+    }
+
+    public static class RecordingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new java.util.concurrent.CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
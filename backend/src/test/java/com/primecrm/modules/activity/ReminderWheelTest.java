@@ -0,0 +1,120 @@
+package com.primecrm.modules.activity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReminderWheelTest {
+
+    private static final long NOW = 1_700_000_000L;
+    private static final long DAY = NOW / 86_400;
+
+    @Test
+    public void givenReminder_whenAdvancedToDueSecond_thenFiresOnce() {
+        ReminderWheel wheel = new ReminderWheel(NOW);
+        ReminderWheel.Reminder reminder = task(UUID.randomUUID(), null, NOW + 90);
+        wheel.schedule(reminder);
+
+        assertThat(wheel.advance(NOW + 89)).isEmpty();
+        assertThat(wheel.advance(NOW + 90)).containsExactly(reminder);
+        assertThat(wheel.advance(NOW + 1_000)).isEmpty();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    public void givenCancelledOrPastReminder_whenAdvanced_thenNothingFires() {
+        ReminderWheel wheel = new ReminderWheel(NOW);
+        UUID id = UUID.randomUUID();
+        wheel.schedule(task(id, null, NOW + 5_000));
+
+        assertThat(wheel.cancel(id)).isTrue();
+        assertThat(wheel.schedule(task(UUID.randomUUID(), null, NOW - 1))).isFalse();
+        assertThat(wheel.advance(NOW + 10_000)).isEmpty();
+    }
+
+    @Test
+    public void givenRescheduledReminder_whenAdvanced_thenOnlyLatestDueDateFires() {
+        ReminderWheel wheel = new ReminderWheel(NOW);
+        UUID id = UUID.randomUUID();
+        wheel.schedule(task(id, null, NOW + 10));
+        ReminderWheel.Reminder moved = task(id, null, NOW + 7_200);
+        wheel.schedule(moved);
+
+        assertThat(wheel.advance(NOW + 7_199)).isEmpty();
+        assertThat(wheel.advance(NOW + 7_200)).containsExactly(moved);
+    }
+
+    @Test
+    public void givenRemindersAcrossAllLevels_whenAdvancedInJumps_thenEachFiresAtItsDueSecond() {
+        Random random = new Random(42);
+        ReminderWheel wheel = new ReminderWheel(NOW);
+        Map<UUID, Long> due = new HashMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            UUID id = UUID.randomUUID();
+            long delay = (long) Math.pow(2, random.nextDouble() * 25);
+            due.put(id, NOW + delay);
+            wheel.schedule(task(id, null, NOW + delay));
+        }
+
+        long now = NOW;
+        long lastFired = NOW;
+        while (wheel.size() > 0) {
+            now += 1 + random.nextInt(200_000);
+            List<ReminderWheel.Reminder> fired = wheel.advance(now);
+            for (ReminderWheel.Reminder reminder : fired) {
+                assertThat(reminder.dueSecond()).isEqualTo(due.remove(reminder.activityId()))
+                        .isLessThanOrEqualTo(now)
+                        .isGreaterThanOrEqualTo(lastFired);
+                lastFired = reminder.dueSecond();
+            }
+            long reached = now;
+            assertThat(due.values()).allMatch(second -> second > reached);
+        }
+        assertThat(due).isEmpty();
+    }
+
+    @Test
+    public void givenReminderBeyondWheelRange_whenAdvanced_thenRefiledUntilDue() {
+        ReminderWheel wheel = new ReminderWheel(NOW);
+        ReminderWheel.Reminder reminder = task(UUID.randomUUID(), null, NOW + (1L << 30) + 100);
+        wheel.schedule(reminder);
+
+        assertThat(wheel.advance(NOW + (1L << 30))).isEmpty();
+        assertThat(wheel.advance(NOW + (1L << 30) + 100)).containsExactly(reminder);
+    }
+
+    @Test
+    public void givenTasks_whenCounted_thenGroupedByOwnerAndDay() {
+        ReminderWheel wheel = new ReminderWheel(NOW);
+        UUID alice = UUID.randomUUID();
+        UUID bob = UUID.randomUUID();
+        UUID soon = UUID.randomUUID();
+        wheel.schedule(task(soon, alice, NOW + 60));
+        wheel.schedule(task(UUID.randomUUID(), alice, NOW + 3 * 86_400));
+        wheel.schedule(task(UUID.randomUUID(), bob, NOW + 86_400));
+        wheel.schedule(new ReminderWheel.Reminder(UUID.randomUUID(), Activity.ActivityType.MEETING, alice,
+                NOW + 120, DAY));
+
+        assertThat(wheel.countTasks(alice, DAY, DAY + 7)).isEqualTo(2);
+        assertThat(wheel.countTasks(alice, DAY, DAY + 1)).isEqualTo(1);
+        assertThat(wheel.countTasks(null, DAY, DAY + 7)).isEqualTo(3);
+        assertThat(wheel.countTasks(UUID.randomUUID(), DAY, DAY + 7)).isZero();
+
+        wheel.advance(NOW + 60);
+        assertThat(wheel.countTasks(alice, DAY, DAY + 7)).isEqualTo(1);
+
+        wheel.clear();
+        assertThat(wheel.countTasks(null, DAY, DAY + 7)).isZero();
+        assertThat(wheel.size()).isZero();
+    }
+
+    private static ReminderWheel.Reminder task(UUID id, UUID ownerId, long dueSecond) {
+        return new ReminderWheel.Reminder(id, Activity.ActivityType.TASK, ownerId, dueSecond, dueSecond / 86_400);
+    }
+}
@@ -2,6 +2,10 @@ package com.primecrm.modules.activity;
 
 import com.primecrm.core.JwtAuthenticationFilter;
 import com.primecrm.core.SecurityConfig;
+import com.primecrm.core.protobuf.PrimeCrmProto;
+import com.primecrm.core.protobuf.ProtoValues;
+import com.primecrm.core.protobuf.ProtobufConfig;
+import com.primecrm.core.search.CursorPage;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,6 +15,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -18,12 +23,18 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(controllers = TimelineController.class, excludeAutoConfiguration = { SecurityAutoConfiguration.class,
         SecurityFilterAutoConfiguration.class }, excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = {
                 SecurityConfig.class, JwtAuthenticationFilter.class }))
+@Import(ProtobufConfig.class)
 public class TimelineControllerTest {
 
     @Autowired
@@ -34,24 +45,43 @@ public class TimelineControllerTest {
 
     @Test
     @WithMockUser
-    public void getTimeline_ShouldReturnActivities() throws Exception {
+    public void getTimeline_ShouldReturnPageWithNextCursor() throws Exception {
         UUID contactId = UUID.randomUUID();
-        Activity activity = Activity.builder()
-                .subject("Test Activity")
-                .type(Activity.ActivityType.CALL)
-                .contactId(contactId)
-                .build();
-        activity.setCreatedAt(LocalDateTime.now()); // Mocking BaseEntity field if possible, or usually it's null unless
-                                                    // set.
-        // BaseEntity fields are usually set by JPA auditing. For unit test we might
-        // need setter or reflection if @Setter is on BaseEntity.
-        // BaseEntity has @Setter? Let's check. Yes it usually does via Lombok @Data or
-        // @Setter. Activity has @Getter/@Setter.
-
-        Mockito.when(timelineService.getTimeline("contact", contactId)).thenReturn(List.of(activity));
-
-        mockMvc.perform(get("/api/timeline/contact/" + contactId))
+        ActivityListItem row = new ActivityListItem(UUID.randomUUID(), "Test Activity", null,
+                Activity.ActivityType.CALL, null, null, contactId, null, null, LocalDateTime.now(), null);
+        Mockito.when(timelineService.getTimeline(eq("contact"), eq(contactId), any(), isNull()))
+                .thenReturn(new CursorPage<>(List.of(row), "next"));
+
+        mockMvc.perform(get("/api/timeline/contact/" + contactId).param("limit", "1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(CursorPage.NEXT_CURSOR_HEADER, "next"))
                 .andExpect(jsonPath("$[0].subject").value("Test Activity"));
     }
+
+    @Test
+    @WithMockUser
+    public void getTimeline_WithProtobufAccept_ShouldReturnBinaryList() throws Exception {
+        UUID contactId = UUID.randomUUID();
+        ActivityListItem row = new ActivityListItem(UUID.randomUUID(), "Test Activity", null,
+                Activity.ActivityType.CALL, null, null, contactId, null, null, null, null);
+        Mockito.when(timelineService.getTimeline(eq("contact"), eq(contactId), any(), isNull()))
+                .thenReturn(new CursorPage<>(List.of(row), null));
+
+        byte[] body = mockMvc.perform(get("/api/timeline/contact/" + contactId).accept(ProtoValues.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(ProtoValues.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        PrimeCrmProto.Activity parsed = PrimeCrmProto.ActivityList.parseFrom(body).getItems(0);
+        assertThat(parsed.getSubject()).isEqualTo("Test Activity");
+        assertThat(parsed.getType()).isEqualTo(PrimeCrmProto.ActivityType.ACTIVITY_TYPE_CALL);
+        assertThat(parsed.getContactId()).isEqualTo(ProtoValues.uuid(contactId));
+    }
+
+    @Test
+    public void parseEntityType_ShouldRejectUnknownTypes() {
+        assertThat(TimelineService.EntityType.parse("Deal")).isEqualTo(TimelineService.EntityType.DEAL);
+        assertThatThrownBy(() -> TimelineService.EntityType.parse("account"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
 }
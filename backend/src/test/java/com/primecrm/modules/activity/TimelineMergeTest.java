@@ -0,0 +1,88 @@
+package com.primecrm.modules.activity;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TimelineMergeTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Test
+    public void givenSortedSources_whenMerge_thenNewestFirstAcrossSources() {
+        ActivityListItem a1 = row(5, 1), a2 = row(2, 2), b1 = row(4, 3), b2 = row(3, 4), c1 = row(1, 5);
+
+        List<ActivityListItem> merged = TimelineMerge.merge(
+                List.of(List.of(a1, a2).iterator(), List.of(b1, b2).iterator(), List.of(c1).iterator()), 10);
+
+        assertThat(merged).containsExactly(a1, b1, b2, a2, c1);
+    }
+
+    @Test
+    public void givenActivityInTwoSources_whenMerge_thenEmittedOnce() {
+        ActivityListItem shared = row(3, 1);
+        ActivityListItem contactOnly = row(4, 2);
+        ActivityListItem dealOnly = row(1, 3);
+
+        List<ActivityListItem> merged = TimelineMerge.merge(
+                List.of(List.of(contactOnly, shared).iterator(), List.of(shared, dealOnly).iterator()), 10);
+
+        assertThat(merged).containsExactly(contactOnly, shared, dealOnly);
+    }
+
+    @Test
+    public void givenPageLimit_whenMerge_thenPullsOnlyWhatThePageNeeds() {
+        CountingIterator first = new CountingIterator(List.of(row(9, 1), row(7, 2), row(5, 3), row(3, 4)));
+        CountingIterator second = new CountingIterator(List.of(row(8, 5), row(6, 6), row(4, 7), row(2, 8)));
+
+        List<ActivityListItem> merged = TimelineMerge.merge(List.of(first, second), 3);
+
+        assertThat(merged).extracting(ActivityListItem::createdAt).containsExactly(T0.plusMinutes(9),
+                T0.plusMinutes(8), T0.plusMinutes(7));
+        assertThat(first.pulled + second.pulled).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    public void givenSameTimestamp_whenMerge_thenTieBrokenByUnsignedId() {
+        ActivityListItem high = row(UUID.fromString("f0000000-0000-0000-0000-000000000000"), T0);
+        ActivityListItem low = row(UUID.fromString("10000000-0000-0000-0000-000000000000"), T0);
+
+        List<ActivityListItem> merged = TimelineMerge.merge(
+                List.of(List.of(low).iterator(), List.of(high).iterator()), 10);
+
+        assertThat(merged).containsExactly(high, low);
+    }
+
+    private static ActivityListItem row(int minute, int id) {
+        return row(new UUID(0, id), T0.plusMinutes(minute));
+    }
+
+    private static ActivityListItem row(UUID id, LocalDateTime createdAt) {
+        return new ActivityListItem(id, null, null, null, null, null, null, null, null, createdAt, null);
+    }
+
+    private static final class CountingIterator implements Iterator<ActivityListItem> {
+        private final Iterator<ActivityListItem> rows;
+        private int pulled;
+
+        CountingIterator(List<ActivityListItem> rows) {
+            this.rows = rows.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return rows.hasNext();
+        }
+
+        @Override
+        public ActivityListItem next() {
+            pulled++;
+            return rows.next();
+        }
+    }
+}
@@ -12,10 +12,10 @@ import org.springframework.context.annotation.FilterType;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -39,17 +39,36 @@ class AnalyticsControllerTest {
         @MockBean
         private AnalyticsService analyticsService;
 
+        @MockBean
+        private DailyRollupService dailyRollupService;
+
+        @MockBean
+        private DealFunnelStats dealFunnelStats;
+
         @Test
-        void getRevenueOverTime_ShouldReturnList() throws Exception {
-                Map<String, Object> data = new HashMap<>();
-                data.put("date", "2023-11");
-                data.put("value", 1000);
-                when(analyticsService.getRevenueOverTime()).thenReturn(List.of(data));
+        void getRevenueOverTime_ShouldReturnColumnarSeries() throws Exception {
+                LocalDate from = LocalDate.of(2023, 1, 1);
+                LocalDate to = LocalDate.of(2023, 12, 31);
+                when(analyticsService.getRevenueOverTime(from, to, Granularity.MONTH)).thenReturn(new TimeSeries<>(
+                                from, to, Granularity.MONTH, List.of(LocalDate.of(2023, 11, 1)),
+                                List.of(new BigDecimal("1000"))));
 
                 mockMvc.perform(get("/api/analytics/revenue")
+                                .param("from", "2023-01-01")
+                                .param("to", "2023-12-31")
+                                .param("granularity", "month")
                                 .contentType(MediaType.APPLICATION_JSON))
                                 .andExpect(status().isOk())
-                                .andExpect(jsonPath("$[0].date").value("2023-11"));
+                                .andExpect(jsonPath("$.dates[0]").value("2023-11-01"))
+                                .andExpect(jsonPath("$.values[0]").value(1000));
+        }
+
+        @Test
+        void getRevenueOverTime_WithUnknownGranularity_ShouldReturnBadRequest() throws Exception {
+                mockMvc.perform(get("/api/analytics/revenue")
+                                .param("granularity", "hour")
+                                .contentType(MediaType.APPLICATION_JSON))
+                                .andExpect(status().isBadRequest());
         }
 
         @Test
@@ -63,15 +82,15 @@ class AnalyticsControllerTest {
         }
 
         @Test
-        void getActivityVolume_ShouldReturnList() throws Exception {
-                Map<String, Object> data = new HashMap<>();
-                data.put("date", "2023-11-01");
-                data.put("count", 10);
-                when(analyticsService.getActivityVolume()).thenReturn(List.of(data));
+        void getActivityVolume_ShouldReturnColumnarSeries() throws Exception {
+                LocalDate day = LocalDate.of(2023, 11, 1);
+                when(analyticsService.getActivityVolume(null, null, Granularity.DAY)).thenReturn(new TimeSeries<>(
+                                day, day, Granularity.DAY, List.of(day), List.of(10L)));
 
                 mockMvc.perform(get("/api/analytics/activities")
                                 .contentType(MediaType.APPLICATION_JSON))
                                 .andExpect(status().isOk())
-                                .andExpect(jsonPath("$[0].date").value("2023-11-01"));
+                                .andExpect(jsonPath("$.dates[0]").value("2023-11-01"))
+                                .andExpect(jsonPath("$.values[0]").value(10));
         }
 }
@@ -1,6 +1,5 @@
 package com.primecrm.modules.analytics;
 
-import com.primecrm.modules.activity.ActivityRepository;
 import com.primecrm.modules.sales.DealRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -8,12 +7,17 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,25 +27,45 @@ class AnalyticsServiceTest {
     private DealRepository dealRepository;
 
     @Mock
-    private ActivityRepository activityRepository;
+    private TimeSeriesRepository timeSeriesRepository;
 
     @InjectMocks
     private AnalyticsService analyticsService;
 
     @Test
-    void getRevenueOverTime_ShouldReturnMappedResults() {
+    void getRevenueOverTime_ShouldReturnSeriesForRequestedRange() {
         // Given
-        List<Object[]> queryResults = Arrays.asList(
-                new Object[] { "2023-11", 1000 },
-                new Object[] { "2023-12", 2000 });
-        when(dealRepository.sumValueByDate(any())).thenReturn(queryResults);
+        LocalDate from = LocalDate.of(2023, 1, 1);
+        LocalDate to = LocalDate.of(2023, 12, 31);
+        TimeSeries<BigDecimal> series = new TimeSeries<>(from, to, Granularity.MONTH,
+                List.of(LocalDate.of(2023, 11, 1), LocalDate.of(2023, 12, 1)),
+                List.of(new BigDecimal("1000"), new BigDecimal("2000")));
+        when(timeSeriesRepository.revenue(from, to, Granularity.MONTH)).thenReturn(series);
 
         // When
-        List<Map<String, Object>> result = analyticsService.getRevenueOverTime();
+        TimeSeries<BigDecimal> result = analyticsService.getRevenueOverTime(from, to, Granularity.MONTH);
 
         // Then
-        assertThat(result).hasSize(2);
-        assertThat(result.get(0)).containsEntry("date", "2023-11").containsEntry("value", 1000);
+        assertThat(result.dates()).hasSize(2);
+        assertThat(result.values()).containsExactly(new BigDecimal("1000"), new BigDecimal("2000"));
+    }
+
+    @Test
+    void getRevenueOverTime_ShouldDefaultToLastSixMonths() {
+        LocalDate today = LocalDate.now();
+        when(timeSeriesRepository.revenue(eq(today.minusMonths(6)), eq(today), any()))
+                .thenReturn(new TimeSeries<>(today.minusMonths(6), today, Granularity.DAY, List.of(), List.of()));
+
+        TimeSeries<BigDecimal> result = analyticsService.getRevenueOverTime(null, null, Granularity.DAY);
+
+        assertThat(result.from()).isEqualTo(today.minusMonths(6));
+    }
+
+    @Test
+    void getRevenueOverTime_ShouldRejectInvertedRange() {
+        assertThrows(IllegalArgumentException.class, () -> analyticsService.getRevenueOverTime(
+                LocalDate.of(2024, 1, 2), LocalDate.of(2024, 1, 1), Granularity.DAY));
+        verifyNoInteractions(timeSeriesRepository);
     }
 
     @Test
@@ -61,18 +85,18 @@ class AnalyticsServiceTest {
     }
 
     @Test
-    void getActivityVolume_ShouldReturnMappedResults() {
+    void getActivityVolume_ShouldDefaultToLastThirtyDays() {
         // Given
-        List<Object[]> queryResults = Arrays.asList(
-                new Object[] { "2023-11-01", 10L },
-                new Object[] { "2023-11-02", 5L });
-        when(activityRepository.countByDate(any())).thenReturn(queryResults);
+        LocalDate today = LocalDate.now();
+        TimeSeries<Long> series = new TimeSeries<>(today.minusDays(30), today, Granularity.DAY,
+                List.of(LocalDate.of(2023, 11, 1), LocalDate.of(2023, 11, 2)), List.of(10L, 5L));
+        when(timeSeriesRepository.activityVolume(today.minusDays(30), today, Granularity.DAY)).thenReturn(series);
 
         // When
-        List<Map<String, Object>> result = analyticsService.getActivityVolume();
+        TimeSeries<Long> result = analyticsService.getActivityVolume(null, null, Granularity.DAY);
 
         // Then
-        assertThat(result).hasSize(2);
-        assertThat(result.get(0)).containsEntry("date", "2023-11-01").containsEntry("count", 10L);
+        assertThat(result.dates()).hasSize(2);
+        assertThat(result.values()).containsExactly(10L, 5L);
     }
 }
@@ -0,0 +1,68 @@
+package com.primecrm.modules.analytics;
+
+import com.primecrm.modules.sales.Deal;
+import com.primecrm.modules.sales.DealEvents;
+import com.primecrm.modules.sales.DealStageTransitionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class DealFunnelStatsTest {
+
+    @Mock
+    private DealStageTransitionRepository stageTransitionRepository;
+
+    @InjectMocks
+    private DealFunnelStats funnelStats;
+
+    @Test
+    void stageEvents_ShouldUpdateFunnelConversion() {
+        Deal won = create(Deal.DealStage.LEAD);
+        Deal lost = create(Deal.DealStage.LEAD);
+        create(Deal.DealStage.LEAD);
+
+        move(won, Deal.DealStage.QUALIFIED, Duration.ofDays(1));
+        move(lost, Deal.DealStage.CLOSED_LOST, Duration.ofDays(3));
+
+        DealFunnelStats.FunnelStep lead = funnelStats.getFunnel().get(0);
+        assertThat(lead.stage()).isEqualTo("LEAD");
+        assertThat(lead.entered()).isEqualTo(3);
+        assertThat(lead.advanced()).isEqualTo(1);
+        assertThat(lead.lost()).isEqualTo(1);
+        assertThat(lead.conversionRate()).isEqualTo(1.0 / 3);
+    }
+
+    @Test
+    void stageEvents_ShouldReportMedianDaysInStage() {
+        for (int days : new int[] { 1, 2, 10 }) {
+            move(create(Deal.DealStage.LEAD), Deal.DealStage.QUALIFIED, Duration.ofDays(days));
+        }
+
+        List<DealFunnelStats.StageVelocity> velocity = funnelStats.getVelocity();
+
+        DealFunnelStats.StageVelocity lead = velocity.get(Deal.DealStage.LEAD.ordinal());
+        assertThat(lead.samples()).isEqualTo(3);
+        assertThat(lead.medianDays()).isEqualTo(2);
+        assertThat(velocity.get(Deal.DealStage.QUALIFIED.ordinal()).medianDays()).isNull();
+    }
+
+    private Deal create(Deal.DealStage stage) {
+        Deal deal = Deal.builder().stage(stage).build();
+        funnelStats.onDealCreated(new DealEvents.DealCreated(deal));
+        return deal;
+    }
+
+    private void move(Deal deal, Deal.DealStage stage, Duration timeInStage) {
+        Deal.DealStage previous = deal.getStage();
+        deal.setStage(stage);
+        funnelStats.onDealStageChanged(new DealEvents.DealStageChanged(deal, previous, timeInStage));
+    }
+}
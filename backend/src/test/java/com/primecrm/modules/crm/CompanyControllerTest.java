@@ -1,6 +1,9 @@
 package com.primecrm.modules.crm;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.primecrm.core.CollectionVersions;
+import com.primecrm.core.search.CursorPage;
+import com.primecrm.core.search.CursorPageRequest;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -8,15 +11,22 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -27,6 +37,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
                 org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration.class,
                 org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration.class
 })
+@Import(CollectionVersions.class)
 @AutoConfigureMockMvc(addFilters = false)
 @SuppressWarnings("null")
 class CompanyControllerTest {
@@ -62,4 +73,31 @@ class CompanyControllerTest {
                                 .andExpect(status().isOk())
                                 .andExpect(jsonPath("$.name").value("Acme Corp"));
         }
+
+        @Test
+        void shouldListSelectedFieldsWithNextCursor() throws Exception {
+                CompanyListItem row = new CompanyListItem(UUID.randomUUID(), "Acme Corp", null, null, null, null, null);
+                when(companyService.searchCompanies(any(), any(CursorPageRequest.class), eq("name")))
+                                .thenReturn(new CursorPage<>(List.of(row), "next-page"));
+
+                mockMvc.perform(get("/api/companies").param("fields", "name").param("limit", "1"))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string(CursorPage.NEXT_CURSOR_HEADER, "next-page"))
+                                .andExpect(jsonPath("$[0].name").value("Acme Corp"))
+                                .andExpect(jsonPath("$[0].industry").doesNotExist());
+        }
+
+        @Test
+        void shouldAnswerNotModifiedWithoutQueryingWhenETagMatches() throws Exception {
+                when(companyService.searchCompanies(any(), any(CursorPageRequest.class), any()))
+                                .thenReturn(new CursorPage<>(List.of(), null));
+                String etag = mockMvc.perform(get("/api/companies"))
+                                .andExpect(status().isOk())
+                                .andReturn().getResponse().getHeader("ETag");
+
+                clearInvocations(companyService);
+                mockMvc.perform(get("/api/companies").header("If-None-Match", etag))
+                                .andExpect(status().isNotModified());
+                verify(companyService, never()).searchCompanies(any(), any(), any());
+        }
 }
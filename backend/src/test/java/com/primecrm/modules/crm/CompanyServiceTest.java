@@ -25,6 +25,15 @@ class CompanyServiceTest {
     @Mock
     private ContactRepository contactRepository;
 
+    @Mock
+    private com.primecrm.core.CollectionVersions collectionVersions;
+
+    @Mock
+    private ContactSearchIndex searchIndex;
+
+    @Mock
+    private org.springframework.context.ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CompanyService companyService;
 
@@ -0,0 +1,42 @@
+package com.primecrm.modules.crm;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class ContactImportServiceTest {
+
+    private final ContactImportService service = new ContactImportService(mock(ContactImporter.class));
+
+    @Test
+    public void givenFinishedJobPastRetention_whenJobsListed_thenEvictedWhileRunningJobsStay() {
+        // Negative, so a job finishing now is already past it
+        ReflectionTestUtils.setField(service, "jobRetention", Duration.ofMinutes(-1));
+        ContactImportJob finished = service.submit(csv());
+        ContactImportJob running = service.submit(csv());
+        finished.complete();
+        running.start();
+
+        assertThat(service.getJobs()).containsExactly(running);
+    }
+
+    @Test
+    public void givenFinishedJobWithinRetention_whenJobsListed_thenKept() {
+        ReflectionTestUtils.setField(service, "jobRetention", Duration.ofHours(1));
+        ContactImportJob job = service.submit(csv());
+        job.fail("Unreadable file");
+
+        assertThat(service.getJobs()).containsExactly(job);
+    }
+
+    private static MockMultipartFile csv() {
+        return new MockMultipartFile("file", "contacts.csv", "text/csv",
+                "firstName,lastName\nAda,Lovelace\n".getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,71 @@
+package com.primecrm.modules.crm;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DuplicateMatcherTest {
+
+    private static final double THRESHOLD = 0.85;
+
+    private final UUID acme = UUID.randomUUID();
+
+    @Test
+    void shouldNormaliseEmailPhoneAndName() {
+        assertThat(DuplicateMatcher.email(" John.Smith+crm@Acme.com ")).isEqualTo("john.smith@acme.com");
+        assertThat(DuplicateMatcher.phone("+1 (555) 010-2000")).isEqualTo(DuplicateMatcher.phone("555.010.2000"));
+        assertThat(DuplicateMatcher.phone("12-34")).isNull();
+        assertThat(DuplicateMatcher.name("  José  O'Neil ")).isEqualTo("jose oneil");
+        assertThat(DuplicateMatcher.soundex("robert")).isEqualTo(DuplicateMatcher.soundex("rupert"));
+        assertThat(DuplicateMatcher.soundex("smith")).isEqualTo(DuplicateMatcher.soundex("smyth"));
+    }
+
+    @Test
+    void shouldMatchSameEmailDespiteCaseAndTag() {
+        DuplicateMatcher.Candidate a = candidate("John", "Smith", "john.smith@acme.com", null, null);
+        DuplicateMatcher.Candidate b = candidate("Jon", "Smyth", "John.Smith+news@ACME.com", null, null);
+
+        DuplicateMatcher.Match match = DuplicateMatcher.score(a, b, THRESHOLD);
+
+        assertThat(match).isNotNull();
+        assertThat(match.score()).isEqualTo(1.0);
+        assertThat(match.contactId().compareTo(match.duplicateId())).isNegative();
+    }
+
+    @Test
+    void shouldMatchNameTypoWithSamePhoneOrCompany() {
+        DuplicateMatcher.Candidate a = candidate("Katherine", "Johnson", null, "555-010-2000", null);
+        DuplicateMatcher.Candidate b = candidate("Catherine", "Johnson", null, "(555) 0102000", null);
+        DuplicateMatcher.Candidate c = candidate("Katherine", "Jonson", "kj@other.com", null, acme);
+        DuplicateMatcher.Candidate d = candidate("Katherine", "Johnson", "kjohnson@acme.com", null, acme);
+
+        assertThat(DuplicateMatcher.score(a, b, THRESHOLD).reasons()).isEqualTo("name,phone");
+        assertThat(DuplicateMatcher.score(c, d, THRESHOLD).reasons()).isEqualTo("name,company");
+    }
+
+    @Test
+    void shouldNotMatchSimilarNameAlone() {
+        DuplicateMatcher.Candidate a = candidate("John", "Smith", "john@acme.com", null, null);
+        DuplicateMatcher.Candidate b = candidate("John", "Smith", "jsmith@globex.com", "555-010-9999", null);
+
+        assertThat(DuplicateMatcher.score(a, b, THRESHOLD)).isNull();
+    }
+
+    @Test
+    void shouldScorePairOnlyInFirstSharedBlock() {
+        DuplicateMatcher.Candidate a = candidate("John", "Smith", "john@acme.com", "555-010-2000", null);
+        DuplicateMatcher.Candidate b = candidate("Johnny", "Smith", "john@acme.org", "555-010-2000", null);
+
+        // Both share the email local part, the phone and the name key; only the first counts.
+        assertThat(DuplicateMatcher.firstSharedKey(a, b, "l|john")).isTrue();
+        assertThat(DuplicateMatcher.firstSharedKey(a, b, "p|550102000")).isFalse();
+        assertThat(DuplicateMatcher.firstSharedKey(a, b, a.keys().get(a.keys().size() - 1))).isFalse();
+    }
+
+    private static DuplicateMatcher.Candidate candidate(String first, String last, String email, String phone,
+            UUID companyId) {
+        return DuplicateMatcher.candidate(UUID.randomUUID(), first, last, email, phone, companyId);
+    }
+}
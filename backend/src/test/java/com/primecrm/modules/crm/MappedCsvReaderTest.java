@@ -0,0 +1,53 @@
+package com.primecrm.modules.crm;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedCsvReaderTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void shouldParseQuotedFieldsAcrossWindowBoundaries() throws Exception {
+        String csv = "﻿firstName,lastName,company\r\n"
+                + "Ada,Lovelace,\"Analytical, Engines\"\r\n"
+                + "Zoë,\"O\"\"Brien\",\"Multi\nLine\"\n"
+                + "Last,Row,";
+        Path file = Files.writeString(dir.resolve("contacts.csv"), csv, StandardCharsets.UTF_8);
+
+        for (long window : new long[] { 40, 41, 53, MappedCsvReader.DEFAULT_WINDOW }) {
+            assertThat(readAll(file, window)).as("window %d", window).containsExactly(
+                    List.of("firstName", "lastName", "company"),
+                    List.of("Ada", "Lovelace", "Analytical, Engines"),
+                    List.of("Zoë", "O\"Brien", "Multi\nLine"),
+                    List.of("Last", "Row", ""));
+        }
+    }
+
+    @Test
+    void shouldReturnNothingForEmptyFile() throws Exception {
+        Path file = Files.createFile(dir.resolve("empty.csv"));
+
+        assertThat(readAll(file, MappedCsvReader.DEFAULT_WINDOW)).isEmpty();
+    }
+
+    private static List<List<String>> readAll(Path file, long window) throws Exception {
+        List<List<String>> records = new ArrayList<>();
+        try (MappedCsvReader reader = new MappedCsvReader(file, window)) {
+            List<String> record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+}
@@ -0,0 +1,79 @@
+package com.primecrm.modules.dashboard;
+
+import com.primecrm.modules.activity.ActivityService;
+import com.primecrm.modules.crm.ContactService;
+import com.primecrm.modules.sales.DealService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardStatsLoaderTest {
+
+    @Mock
+    private ContactService contactService;
+
+    @Mock
+    private DealService dealService;
+
+    @Mock
+    private ActivityService activityService;
+
+    @Mock
+    private DashboardStatsStore statsStore;
+
+    @InjectMocks
+    private DashboardStatsLoader statsLoader;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(statsLoader, "deadline", Duration.ofMillis(200));
+        ReflectionTestUtils.setField(statsLoader, "upcomingDays", 7);
+        when(statsStore.getStats()).thenReturn(new DashboardStats(new BigDecimal("42"), 1, 2, 3));
+    }
+
+    @Test
+    void loadFresh_ShouldReturnLiveValues() {
+        when(dealService.calculateTotalRevenue()).thenReturn(new BigDecimal("100"));
+        when(dealService.countDeals()).thenReturn(10L);
+        when(contactService.countContacts()).thenReturn(20L);
+        when(activityService.countUpcomingTasks(null, 7)).thenReturn(30L);
+
+        DashboardStats stats = statsLoader.loadFresh();
+
+        assertThat(stats.totalRevenue()).isEqualByComparingTo("100");
+        assertThat(stats.activeDeals()).isEqualTo(10);
+        assertThat(stats.newContacts()).isEqualTo(20);
+        assertThat(stats.upcomingTasks()).isEqualTo(30);
+        assertThat(stats.stale()).isEmpty();
+    }
+
+    @Test
+    void loadFresh_ShouldFallBackToLastKnownValueWhenDeadlineIsMissed() {
+        when(dealService.calculateTotalRevenue()).thenAnswer(invocation -> {
+            Thread.sleep(2_000);
+            return new BigDecimal("100");
+        });
+        when(dealService.countDeals()).thenReturn(10L);
+        when(contactService.countContacts()).thenThrow(new IllegalStateException("db down"));
+        when(activityService.countUpcomingTasks(null, 7)).thenReturn(30L);
+
+        DashboardStats stats = statsLoader.loadFresh();
+
+        assertThat(stats.totalRevenue()).isEqualByComparingTo("42");
+        assertThat(stats.activeDeals()).isEqualTo(10);
+        assertThat(stats.newContacts()).isEqualTo(2);
+        assertThat(stats.upcomingTasks()).isEqualTo(30);
+        assertThat(stats.stale()).containsExactlyInAnyOrder("totalRevenue", "newContacts");
+    }
+}
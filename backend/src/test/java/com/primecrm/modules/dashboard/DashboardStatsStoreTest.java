@@ -0,0 +1,140 @@
+package com.primecrm.modules.dashboard;
+
+import com.primecrm.modules.activity.Activity;
+import com.primecrm.modules.activity.ActivityEvents;
+import com.primecrm.modules.activity.ActivityService;
+import com.primecrm.modules.crm.Contact;
+import com.primecrm.modules.crm.ContactEvents;
+import com.primecrm.modules.crm.ContactService;
+import com.primecrm.modules.sales.Deal;
+import com.primecrm.modules.sales.DealEvents;
+import com.primecrm.modules.sales.DealService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardStatsStoreTest {
+
+    @Mock
+    private ContactService contactService;
+
+    @Mock
+    private DealService dealService;
+
+    @Mock
+    private ActivityService activityService;
+
+    @InjectMocks
+    private DashboardStatsStore statsStore;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(statsStore, "upcomingDays", 7);
+    }
+
+    @Test
+    void reconcile_ShouldLoadAggregatesFromDatabase() {
+        List<Object[]> summary = Arrays.asList(
+                new Object[] { Deal.DealStage.LEAD, 3L, new BigDecimal("300") },
+                new Object[] { Deal.DealStage.CLOSED_WON, 1L, new BigDecimal("1000") });
+        when(dealService.summarizeByStage()).thenReturn(summary);
+        when(contactService.countContacts()).thenReturn(7L);
+        when(activityService.countUpcomingTasks(null, 7)).thenReturn(2L);
+
+        statsStore.reconcile();
+
+        DashboardStats stats = statsStore.getStats();
+        assertThat(stats.totalRevenue()).isEqualByComparingTo("1300");
+        assertThat(stats.activeDeals()).isEqualTo(4);
+        assertThat(stats.newContacts()).isEqualTo(7);
+        assertThat(stats.upcomingTasks()).isEqualTo(2);
+        assertThat(statsStore.getPipelineDistribution()).containsEntry("LEAD", 3L).containsEntry("CLOSED_WON", 1L);
+    }
+
+    @Test
+    void reconcile_ShouldRetryWhenDeltaLandsDuringRead() {
+        when(dealService.summarizeByStage()).thenReturn(List.of());
+        when(contactService.countContacts())
+                .thenAnswer(invocation -> {
+                    // Committed after the first read, so only the second read counts it
+                    statsStore.onContactCreated(new ContactEvents.ContactCreated(new Contact()));
+                    return 7L;
+                })
+                .thenReturn(8L);
+
+        statsStore.reconcile();
+
+        assertThat(statsStore.getStats().newContacts()).isEqualTo(8);
+    }
+
+    @Test
+    void dealEvents_ShouldApplyDeltas() {
+        Deal deal = Deal.builder().value(new BigDecimal("500")).stage(Deal.DealStage.LEAD).build();
+
+        statsStore.onDealCreated(new DealEvents.DealCreated(deal));
+        deal.setStage(Deal.DealStage.PROPOSAL);
+        statsStore.onDealStageChanged(new DealEvents.DealStageChanged(deal, Deal.DealStage.LEAD, Duration.ofDays(2)));
+
+        assertThat(statsStore.getStats().totalRevenue()).isEqualByComparingTo("500");
+        assertThat(statsStore.getStats().activeDeals()).isEqualTo(1);
+        assertThat(statsStore.getPipelineDistribution()).containsOnlyKeys("PROPOSAL");
+
+        statsStore.onDealDeleted(new DealEvents.DealDeleted(deal));
+
+        assertThat(statsStore.getStats().totalRevenue()).isEqualByComparingTo("0");
+        assertThat(statsStore.getStats().activeDeals()).isZero();
+        assertThat(statsStore.getPipelineDistribution()).isEmpty();
+    }
+
+    @Test
+    void contactAndTaskEvents_ShouldApplyDeltas() {
+        AtomicLong upcoming = new AtomicLong();
+        when(activityService.countUpcomingTasks(null, 7)).thenAnswer(invocation -> upcoming.get());
+        Activity task = Activity.builder().type(Activity.ActivityType.TASK).build();
+        Activity note = Activity.builder().type(Activity.ActivityType.NOTE).build();
+
+        statsStore.onContactCreated(new ContactEvents.ContactCreated(new Contact()));
+        statsStore.onContactCreated(new ContactEvents.ContactCreated(new Contact()));
+        statsStore.onContactDeleted(new ContactEvents.ContactDeleted(new Contact()));
+        upcoming.set(1);
+        statsStore.onActivityCreated(new ActivityEvents.ActivityCreated(task));
+        statsStore.onActivityCreated(new ActivityEvents.ActivityCreated(note));
+
+        assertThat(statsStore.getStats().newContacts()).isEqualTo(1);
+        assertThat(statsStore.getStats().upcomingTasks()).isEqualTo(1);
+
+        task.setCompleted(true);
+        upcoming.set(0);
+        statsStore.onActivityCompleted(new ActivityEvents.ActivityCompleted(task));
+
+        assertThat(statsStore.getStats().upcomingTasks()).isZero();
+    }
+
+    @Test
+    void activityDue_ShouldRefreshUpcomingTasks() {
+        when(activityService.countUpcomingTasks(null, 7)).thenReturn(3L, 2L);
+        statsStore.onActivityCreated(new ActivityEvents.ActivityCreated(
+                Activity.builder().type(Activity.ActivityType.TASK).build()));
+
+        statsStore.onActivityDue(new ActivityEvents.ActivityDue(UUID.randomUUID(), Activity.ActivityType.TASK, null,
+                LocalDateTime.now()));
+
+        assertThat(statsStore.getStats().upcomingTasks()).isEqualTo(2);
+    }
+}
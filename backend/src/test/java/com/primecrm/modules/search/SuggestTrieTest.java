@@ -0,0 +1,76 @@
+package com.primecrm.modules.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SuggestTrieTest {
+
+    private final Suggestion johnSmith = new Suggestion(Suggestion.Type.CONTACT, UUID.randomUUID(), "John Smith");
+    private final Suggestion joanna = new Suggestion(Suggestion.Type.CONTACT, UUID.randomUUID(), "Joanna Jo");
+    private final Suggestion johnson = new Suggestion(Suggestion.Type.COMPANY, UUID.randomUUID(), "Johnson & Co");
+    private final Suggestion renewal = new Suggestion(Suggestion.Type.DEAL, UUID.randomUUID(), "Smith Renewal");
+
+    private SuggestTrie trie() {
+        SuggestTrie trie = new SuggestTrie();
+        trie.put(johnSmith, List.of(new SuggestTrie.Term("John Smith", 0), new SuggestTrie.Term("Smith", 1),
+                new SuggestTrie.Term("john@acme.com", 2)));
+        trie.put(joanna, List.of(new SuggestTrie.Term("Joanna Jo", 0), new SuggestTrie.Term("Jo", 1)));
+        trie.put(johnson, List.of(new SuggestTrie.Term("Johnson & Co", 0)));
+        trie.put(renewal, List.of(new SuggestTrie.Term("Smith Renewal", 0), new SuggestTrie.Term("Renewal", 1)));
+        return trie;
+    }
+
+    @Test
+    void givenPrefix_whenSuggest_thenRankedByWeightThenLabelLengthAndDistinct() {
+        SuggestTrie trie = trie();
+
+        assertThat(trie.suggest("jo", 10)).containsExactly(joanna, johnSmith, johnson);
+        assertThat(trie.suggest("  JOHN ", 10)).containsExactly(johnSmith, johnson);
+        assertThat(trie.suggest("smi", 10)).containsExactly(renewal, johnSmith);
+        assertThat(trie.suggest("jo", 1)).containsExactly(joanna);
+        assertThat(trie.suggest("x", 10)).isEmpty();
+        assertThat(trie.suggest(" ", 10)).isEmpty();
+    }
+
+    @Test
+    void givenQueryLongerThanMaxDepth_whenSuggest_thenFiltersBucket() {
+        SuggestTrie trie = trie();
+
+        assertThat(trie.suggest("john@acme.com", 10)).containsExactly(johnSmith);
+        assertThat(trie.suggest("john@acme.org", 10)).isEmpty();
+    }
+
+    @Test
+    void givenRemovedOrReplacedEntry_whenSuggest_thenTopListsRecomputed() {
+        SuggestTrie trie = trie();
+        trie.remove(Suggestion.Type.CONTACT, joanna.id());
+        Suggestion renamed = new Suggestion(Suggestion.Type.CONTACT, johnSmith.id(), "Jack Smith");
+        trie.put(renamed, List.of(new SuggestTrie.Term("Jack Smith", 0), new SuggestTrie.Term("Smith", 1)));
+
+        assertThat(trie.suggest("jo", 10)).containsExactly(johnson);
+        assertThat(trie.suggest("j", 10)).containsExactly(renamed, johnson);
+        assertThat(trie.size()).isEqualTo(3);
+    }
+
+    @Test
+    void givenMoreMatchesThanFit_whenSuggest_thenKeepsBestRanked() {
+        SuggestTrie trie = new SuggestTrie();
+        Suggestion shortest = null;
+        for (int i = 0; i < 100; i++) {
+            Suggestion suggestion = new Suggestion(Suggestion.Type.DEAL, UUID.randomUUID(), "Deal " + "x".repeat(i));
+            trie.put(suggestion, List.of(new SuggestTrie.Term(suggestion.label(), 0)));
+            if (i == 0) {
+                shortest = suggestion;
+            }
+        }
+        trie.remove(Suggestion.Type.DEAL, shortest.id());
+
+        List<Suggestion> top = trie.suggest("deal", SuggestTrie.MAX_RESULTS);
+        assertThat(top).hasSize(SuggestTrie.MAX_RESULTS);
+        assertThat(top.get(0).label()).isEqualTo("Deal x");
+    }
+}
@@ -0,0 +1,19 @@
+import { Button } from './Button';
+
+interface LoadMoreProps {
+    hasMore: boolean;
+    isLoading: boolean;
+    onLoadMore: () => void;
+}
+
+export const LoadMore = ({ hasMore, isLoading, onLoadMore }: LoadMoreProps) => {
+    if (!hasMore) return null;
+
+    return (
+        <div className="flex justify-center p-4">
+            <Button variant="secondary" size="sm" isLoading={isLoading} onClick={onLoadMore}>
+                Load more
+            </Button>
+        </div>
+    );
+};
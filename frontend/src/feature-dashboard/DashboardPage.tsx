@@ -2,6 +2,7 @@ import { Card, CardHeader, CardTitle, CardContent } from '../components/ui/Card'
 import { DollarSign, Users, Briefcase, Calendar } from 'lucide-react';
 import { useQuery } from '@tanstack/react-query';
 import { dashboardApi } from './dashboard-api';
+import { useDashboardStream } from './useDashboardStream';
 
 interface StatCardProps {
     title: string;
@@ -24,9 +25,11 @@ const StatCard = ({ title, value, icon: Icon, trend }: StatCardProps) => (
 );
 
 export const DashboardPage = () => {
+    useDashboardStream();
     const { data: stats, isLoading } = useQuery({
         queryKey: ['dashboard-stats'],
-        queryFn: dashboardApi.getStats
+        queryFn: dashboardApi.getStats,
+        staleTime: Infinity
     });
 
     if (isLoading) {
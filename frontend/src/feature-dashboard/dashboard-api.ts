@@ -5,6 +5,7 @@ export interface DashboardStats {
     activeDeals: number;
     newContacts: number;
     upcomingTasks: number;
+    stale: string[];
 }
 
 export const dashboardApi = {
@@ -0,0 +1,68 @@
+import { useEffect } from 'react';
+import { useQueryClient } from '@tanstack/react-query';
+import { api } from '../lib/api';
+import { useAuthStore } from '../features/auth/authStore';
+
+const RECONNECT_DELAY_MS = 5000;
+
+// Subscribes to /dashboard/stream and writes pushed snapshots into the React Query cache,
+// so the dashboard and pipeline chart update without polling.
+export function useDashboardStream() {
+    const queryClient = useQueryClient();
+    const token = useAuthStore((state) => state.token);
+
+    useEffect(() => {
+        if (!token) return;
+        const controller = new AbortController();
+        let reconnectTimer: ReturnType<typeof setTimeout> | undefined;
+
+        const handleEvent = (event: string, data: string) => {
+            if (event === 'stats') {
+                queryClient.setQueryData(['dashboard-stats'], JSON.parse(data));
+            } else if (event === 'pipeline') {
+                queryClient.setQueryData(['analytics-pipeline'], JSON.parse(data));
+            }
+        };
+
+        const connect = async () => {
+            try {
+                const response = await fetch(`${api.defaults.baseURL}/dashboard/stream`, {
+                    headers: { Authorization: `Bearer ${token}`, Accept: 'text/event-stream' },
+                    signal: controller.signal,
+                });
+                if (!response.ok || !response.body) throw new Error(`Stream failed: ${response.status}`);
+
+                const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+                let buffer = '';
+                for (;;) {
+                    const { value, done } = await reader.read();
+                    if (done) break;
+                    buffer += value;
+                    let boundary;
+                    while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+                        const block = buffer.slice(0, boundary);
+                        buffer = buffer.slice(boundary + 2);
+                        let event = 'message';
+                        const data: string[] = [];
+                        for (const line of block.split('\n')) {
+                            if (line.startsWith('event:')) event = line.slice(6).trim();
+                            else if (line.startsWith('data:')) data.push(line.slice(5));
+                        }
+                        if (data.length > 0) handleEvent(event, data.join('\n'));
+                    }
+                }
+            } catch {
+                if (controller.signal.aborted) return;
+            }
+            if (!controller.signal.aborted) {
+                reconnectTimer = setTimeout(connect, RECONNECT_DELAY_MS);
+            }
+        };
+
+        connect();
+        return () => {
+            controller.abort();
+            clearTimeout(reconnectTimer);
+        };
+    }, [queryClient, token]);
+}
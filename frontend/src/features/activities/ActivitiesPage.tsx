@@ -1,5 +1,5 @@
 import { useState } from 'react';
-import { useQuery, useMutation, useQueryClient } from '@tanstack/react-query';
+import { useMutation, useQueryClient } from '@tanstack/react-query';
 import { activitiesApi, type Activity } from './activities-api';
 import { Card, CardHeader, CardTitle, CardContent } from '../../components/ui/Card';
 import { Button } from '../../components/ui/Button';
@@ -8,6 +8,8 @@ import { toast } from 'sonner';
 import { format } from 'date-fns';
 import { ActivityDialog } from './ActivityDialog';
 import { ActionsMenu } from '../../components/ui/ActionsMenu';
+import { LoadMore } from '../../components/ui/LoadMore';
+import { useCursorQuery } from '../../hooks/useCursorQuery';
 
 const ActivityIcon = ({ type }: { type: Activity['type'] }) => {
     switch (type) {
@@ -23,10 +25,10 @@ export const ActivitiesPage = () => {
     const [isDialogOpen, setIsDialogOpen] = useState(false);
     const [selectedActivity, setSelectedActivity] = useState<Activity | null>(null);
     const queryClient = useQueryClient();
-    const { data: activities, isLoading } = useQuery({
-        queryKey: ['activities'],
-        queryFn: activitiesApi.getAll
-    });
+    const { items: activities, isLoading, hasNextPage, fetchNextPage, isFetchingNextPage } = useCursorQuery(
+        ['activities'],
+        activitiesApi.getAll
+    );
 
     const completeMutation = useMutation({
         mutationFn: activitiesApi.completeActivity,
@@ -57,8 +59,8 @@ export const ActivitiesPage = () => {
 
     if (isLoading) return <div className="p-4 text-slate-400">Loading activities...</div>;
 
-    const upcoming = activities?.filter(a => !a.completed) || [];
-    const completed = activities?.filter(a => a.completed) || [];
+    const upcoming = activities.filter(a => !a.completed);
+    const completed = activities.filter(a => a.completed);
 
     return (
         <div className="space-y-6">
@@ -148,6 +150,8 @@ export const ActivitiesPage = () => {
                     </CardContent>
                 </Card>
             </div>
+
+            <LoadMore hasMore={hasNextPage} isLoading={isFetchingNextPage} onLoadMore={() => fetchNextPage()} />
         </div>
     );
 };
@@ -1,4 +1,4 @@
-import { api } from '../../lib/api';
+import { api, getPage } from '../../lib/api';
 
 export interface Activity {
     id: string;
@@ -13,10 +13,7 @@ export interface Activity {
 }
 
 export const activitiesApi = {
-    getAll: async (): Promise<Activity[]> => {
-        const response = await api.get('/activities');
-        return response.data;
-    },
+    getAll: (cursor?: string) => getPage<Activity>('/activities', {}, cursor),
 
     create: async (activity: Partial<Activity>): Promise<Activity> => {
         const response = await api.post('/activities', activity);
@@ -37,8 +34,6 @@ export const activitiesApi = {
         return response.data;
     },
 
-    getTimeline: async (entityType: 'contact' | 'deal', entityId: string) => {
-        const response = await api.get(`/timeline/${entityType}/${entityId}`);
-        return response.data;
-    },
+    getTimeline: (entityType: 'contact' | 'deal', entityId: string, cursor?: string) =>
+        getPage<Activity>(`/timeline/${entityType}/${entityId}`, {}, cursor),
 };
@@ -1,11 +1,13 @@
 import { useState } from 'react';
-import { useQuery, useMutation, useQueryClient } from '@tanstack/react-query';
+import { useMutation, useQueryClient } from '@tanstack/react-query';
 import { Button } from '../../components/ui/Button';
 import { Card, CardContent } from '../../components/ui/Card';
 import { Plus, Shield, User as UserIcon } from 'lucide-react';
 import { userApi, type User } from './user-api';
 import { UserDialog } from './UserDialog';
 import { ActionsMenu } from '../../components/ui/ActionsMenu';
+import { LoadMore } from '../../components/ui/LoadMore';
+import { useCursorQuery } from '../../hooks/useCursorQuery';
 import { toast } from 'sonner';
 import { useAuthStore } from '../auth/authStore';
 
@@ -15,10 +17,10 @@ export const AdminPage = () => {
     const queryClient = useQueryClient();
     const currentUser = useAuthStore((state) => state.user);
 
-    const { data: users, isLoading } = useQuery({
-        queryKey: ['users'],
-        queryFn: userApi.getAll
-    });
+    const { items: users, isLoading, hasNextPage, fetchNextPage, isFetchingNextPage } = useCursorQuery(
+        ['users'],
+        userApi.getAll
+    );
 
     const deleteMutation = useMutation({
         mutationFn: userApi.delete,
@@ -73,7 +75,7 @@ export const AdminPage = () => {
                                 </tr>
                             </thead>
                             <tbody className="[&_tr:last-child]:border-0">
-                                {users?.map((user) => (
+                                {users.map((user) => (
                                     <tr key={user.id} className="border-b border-slate-700 transition-colors hover:bg-white/5">
                                         <td className="p-4 align-middle font-medium text-white">
                                             <div className="flex items-center gap-3">
@@ -104,6 +106,7 @@ export const AdminPage = () => {
                             </tbody>
                         </table>
                     </div>
+                    <LoadMore hasMore={hasNextPage} isLoading={isFetchingNextPage} onLoadMore={() => fetchNextPage()} />
                 </CardContent>
             </Card>
         </div>
@@ -1,4 +1,4 @@
-import { api } from '../../lib/api';
+import { api, getPage } from '../../lib/api';
 
 export interface User {
     id: string;
@@ -9,10 +9,7 @@ export interface User {
 }
 
 export const userApi = {
-    getAll: async (): Promise<User[]> => {
-        const response = await api.get('/users');
-        return response.data;
-    },
+    getAll: (cursor?: string) => getPage<User>('/users', {}, cursor),
 
     create: async (user: Partial<User> & { password?: string }): Promise<User> => {
         const response = await api.post('/users', user);
@@ -10,7 +10,7 @@ const COLORS = ['#0088FE', '#00C49F', '#FFBB28', '#FF8042', '#8884d8', '#82ca9d'
 export const AnalyticsDashboard = () => {
     const { data: revenueData, isLoading: revLoading } = useQuery({
         queryKey: ['analytics-revenue'],
-        queryFn: analyticsApi.getRevenueOverTime
+        queryFn: () => analyticsApi.getRevenueOverTime()
     });
 
     const { data: pipelineData, isLoading: pipeLoading } = useQuery({
@@ -20,7 +20,7 @@ export const AnalyticsDashboard = () => {
 
     const { data: activityData, isLoading: actLoading } = useQuery({
         queryKey: ['analytics-activity'],
-        queryFn: analyticsApi.getActivityVolume
+        queryFn: () => analyticsApi.getActivityVolume()
     });
 
     if (revLoading || pipeLoading || actLoading) return <div className="p-8">Loading analytics...</div>;
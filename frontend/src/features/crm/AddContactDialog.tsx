@@ -38,7 +38,7 @@ export const AddContactDialog = ({ open, onOpenChange }: AddContactDialogProps)
 
     const { data: companies } = useQuery({
         queryKey: ['companies'],
-        queryFn: () => crmApi.getCompanies(),
+        queryFn: () => crmApi.getAllCompanies(),
     });
 
     const {
@@ -3,13 +3,15 @@ import { Card, CardContent } from '../../components/ui/Card';
 import { Button } from '../../components/ui/Button';
 import { Input } from '../../components/ui/Input';
 import { Plus, Search, Globe, Phone, Building2, Loader2 } from 'lucide-react';
-import { useQuery, useMutation, useQueryClient, keepPreviousData } from '@tanstack/react-query';
-import { crmApi, type Company } from './crm-api';
+import { useMutation, useQueryClient } from '@tanstack/react-query';
+import { crmApi } from './crm-api';
 import { AddCompanyDialog } from './AddCompanyDialog';
 import { ActionsMenu } from '../../components/ui/ActionsMenu';
 import { toast } from 'sonner';
 import { useAuthStore } from '../auth/authStore';
 import { useDebounce } from '../../hooks/useDebounce';
+import { LoadMore } from '../../components/ui/LoadMore';
+import { useCursorQuery } from '../../hooks/useCursorQuery';
 
 export const CompaniesPage = () => {
     const [search, setSearch] = useState('');
@@ -18,11 +20,11 @@ export const CompaniesPage = () => {
     const queryClient = useQueryClient();
     const user = useAuthStore((state) => state.user);
 
-    const { data: companies, isLoading, error } = useQuery<Company[]>({
-        queryKey: ['companies', debouncedSearch],
-        queryFn: () => crmApi.getCompanies(debouncedSearch),
-        placeholderData: keepPreviousData
-    });
+    const { items: companies, isLoading, error, hasNextPage, fetchNextPage, isFetchingNextPage } = useCursorQuery(
+        ['companies', debouncedSearch],
+        (cursor) => crmApi.getCompanies(debouncedSearch || undefined, cursor),
+        { keepPrevious: true }
+    );
 
     const deleteMutation = useMutation({
         mutationFn: (id: string) => crmApi.deleteCompany(id),
@@ -36,7 +38,7 @@ export const CompaniesPage = () => {
     if (isLoading) return <div className="flex justify-center p-8"><Loader2 className="animate-spin text-primary" /></div>;
     if (error) return <div className="text-red-500 p-8">Error loading companies</div>;
 
-    const filteredCompanies = companies?.filter(company =>
+    const filteredCompanies = companies.filter(company =>
         company.name.toLowerCase().includes(search.toLowerCase()) ||
         company.industry?.toLowerCase().includes(search.toLowerCase())
     );
@@ -123,6 +125,7 @@ export const CompaniesPage = () => {
                             </tbody>
                         </table>
                     </div>
+                    <LoadMore hasMore={hasNextPage} isLoading={isFetchingNextPage} onLoadMore={() => fetchNextPage()} />
                 </CardContent>
             </Card>
         </div>
@@ -3,16 +3,18 @@ import { Card, CardContent } from '../../components/ui/Card';
 import { Button } from '../../components/ui/Button';
 import { Input } from '../../components/ui/Input';
 import { Plus, Search, Mail, ChevronDown, ChevronRight, History } from 'lucide-react';
-import { useQuery, useMutation, useQueryClient } from '@tanstack/react-query';
+import { useMutation, useQueryClient } from '@tanstack/react-query';
 import { crmApi } from './crm-api';
 import { activitiesApi } from '../activities/activities-api';
 import { useAuthStore } from '../auth/authStore';
 import { Skeleton } from '../../components/ui/Skeleton';
 import { Timeline } from '../../components/ui/Timeline';
 import { toast } from 'sonner';
-import { cn } from '../../lib/utils';
+import { cn, searchValue } from '../../lib/utils';
 import { AddContactDialog } from './AddContactDialog';
 import { ActionsMenu } from '../../components/ui/ActionsMenu';
+import { LoadMore } from '../../components/ui/LoadMore';
+import { useCursorQuery } from '../../hooks/useCursorQuery';
 
 export const ContactsPage = () => {
     const [search, setSearch] = useState('');
@@ -21,10 +23,10 @@ export const ContactsPage = () => {
     const user = useAuthStore((state) => state.user);
     const queryClient = useQueryClient();
 
-    const { data: contacts, isLoading, error } = useQuery({
-        queryKey: ['contacts', search],
-        queryFn: () => crmApi.getContacts(search ? `firstName:${search}` : undefined),
-    });
+    const { items: contacts, isLoading, error, hasNextPage, fetchNextPage, isFetchingNextPage } = useCursorQuery(
+        ['contacts', search],
+        (cursor) => crmApi.getContacts(search.trim() ? `firstName:${searchValue(search)}` : undefined, cursor)
+    );
 
     const deleteMutation = useMutation({
         mutationFn: (id: string) => crmApi.deleteContact(id),
@@ -97,7 +99,7 @@ export const ContactsPage = () => {
                                         </tr>
                                     ))
                                 ) : (
-                                    contacts?.map((contact) => (
+                                    contacts.map((contact) => (
                                         <>
                                             <tr key={contact.id} className={cn(
                                                 "border-b border-slate-700 transition-colors hover:bg-white/5",
@@ -123,7 +125,7 @@ export const ContactsPage = () => {
                                                         {contact.firstName} {contact.lastName}
                                                     </div>
                                                 </td>
-                                                <td className="p-4 align-middle text-slate-300">{contact.company?.name || '-'}</td>
+                                                <td className="p-4 align-middle text-slate-300">{contact.companyName || contact.company?.name || '-'}</td>
                                                 <td className="p-4 align-middle text-slate-300">{contact.jobTitle || '-'}</td>
                                                 <td className="p-4 align-middle text-slate-300">
                                                     <div className="flex items-center gap-2">
@@ -158,6 +160,7 @@ export const ContactsPage = () => {
                             </tbody>
                         </table>
                     </div>
+                    <LoadMore hasMore={hasNextPage} isLoading={isFetchingNextPage} onLoadMore={() => fetchNextPage()} />
                 </CardContent>
             </Card>
         </div>
@@ -165,11 +168,15 @@ export const ContactsPage = () => {
 };
 
 const ContactTimeline = ({ contactId }: { contactId: string }) => {
-    const { data: timeline, isLoading } = useQuery({
-        queryKey: ['timeline', 'contact', contactId],
-        queryFn: () => activitiesApi.getTimeline('contact', contactId),
-    });
+    const { items: timeline, isLoading, hasNextPage, fetchNextPage, isFetchingNextPage } = useCursorQuery(
+        ['timeline', 'contact', contactId],
+        (cursor) => activitiesApi.getTimeline('contact', contactId, cursor)
+    );
 
-    return <Timeline activities={timeline || []} isLoading={isLoading} />;
+    return (
+        <>
+            <Timeline activities={timeline} isLoading={isLoading} />
+            <LoadMore hasMore={hasNextPage} isLoading={isFetchingNextPage} onLoadMore={() => fetchNextPage()} />
+        </>
+    );
 };
-
@@ -1,4 +1,4 @@
-import { api } from '../../lib/api';
+import { api, getAllPages, getPage } from '../../lib/api';
 
 export interface Company {
     id: string;
@@ -16,15 +16,14 @@ export interface Contact {
     phone?: string;
     jobTitle?: string;
     companyId?: string;
+    companyName?: string; // List view is a flat projection
     company?: Company;
 }
 
 export const crmApi = {
-    getContacts: async (search?: string) => {
-        const params = search ? { search } : {};
-        const response = await api.get<Contact[]>('/contacts', { params });
-        return response.data;
-    },
+    getContacts: (search?: string, cursor?: string) => getPage<Contact>('/contacts', { search }, cursor),
+
+    getAllContacts: () => getAllPages<Contact>('/contacts'),
 
     createContact: async (contact: Partial<Contact>) => {
         const response = await api.post('/contacts', contact);
@@ -42,11 +41,9 @@ export const crmApi = {
     },
 
     // Company API
-    getCompanies: async (search?: string) => {
-        const params = search ? { search } : {};
-        const response = await api.get('/companies', { params });
-        return response.data;
-    },
+    getCompanies: (search?: string, cursor?: string) => getPage<Company>('/companies', { search }, cursor),
+
+    getAllCompanies: () => getAllPages<Company>('/companies'),
 
     createCompany: async (data: Partial<Company>) => {
         const response = await api.post('/companies', data);
@@ -62,17 +59,35 @@ export const crmApi = {
     },
 };
 
+export interface TimeSeries {
+    from: string;
+    to: string;
+    granularity: 'DAY' | 'WEEK' | 'MONTH';
+    dates: string[];
+    values: number[];
+}
+
+export interface TimeSeriesParams {
+    from?: string;
+    to?: string;
+    granularity?: 'day' | 'week' | 'month';
+}
+
+// Recharts expects one object per point; the API sends parallel arrays.
+const toRows = (series: TimeSeries, valueKey: string) =>
+    series.dates.map((date, i) => ({ date, [valueKey]: series.values[i] }));
+
 export const analyticsApi = {
-    getRevenueOverTime: async () => {
-        const response = await api.get<unknown[]>('/analytics/revenue');
-        return response.data;
+    getRevenueOverTime: async (params?: TimeSeriesParams) => {
+        const response = await api.get<TimeSeries>('/analytics/revenue', { params });
+        return toRows(response.data, 'value');
     },
     getPipelineDistribution: async () => {
         const response = await api.get<Record<string, number>>('/analytics/pipeline');
         return response.data;
     },
-    getActivityVolume: async () => {
-        const response = await api.get<unknown[]>('/analytics/activities');
-        return response.data;
+    getActivityVolume: async (params?: TimeSeriesParams) => {
+        const response = await api.get<TimeSeries>('/analytics/activities', { params });
+        return toRows(response.data, 'count');
     }
 };
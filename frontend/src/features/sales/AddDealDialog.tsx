@@ -39,7 +39,7 @@ export const AddDealDialog = ({ open, onOpenChange }: AddDealDialogProps) => {
 
     const { data: contacts } = useQuery({
         queryKey: ['contacts'],
-        queryFn: () => crmApi.getContacts(),
+        queryFn: () => crmApi.getAllContacts(),
     });
 
     const {
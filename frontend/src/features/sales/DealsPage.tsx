@@ -3,13 +3,16 @@ import { Button } from '../../components/ui/Button';
 import { Input } from '../../components/ui/Input';
 import { useState } from 'react';
 import { Plus } from 'lucide-react';
-import { useQuery, useMutation, useQueryClient } from '@tanstack/react-query';
-import { dealsApi, type Deal } from './deals-api';
+import { useMutation, useQueryClient } from '@tanstack/react-query';
+import { dealsApi } from './deals-api';
 import { useAuthStore } from '../auth/authStore';
 import { Skeleton } from '../../components/ui/Skeleton';
 import { toast } from 'sonner';
 import { AddDealDialog } from './AddDealDialog';
+import { searchValue } from '../../lib/utils';
 import { ActionsMenu } from '../../components/ui/ActionsMenu';
+import { LoadMore } from '../../components/ui/LoadMore';
+import { useCursorQuery } from '../../hooks/useCursorQuery';
 
 const COLUMNS = [
     { id: 'LEAD', title: 'Lead' },
@@ -27,15 +30,15 @@ export const DealsPage = () => {
     const [isAddDialogOpen, setIsAddDialogOpen] = useState(false);
 
     const searchParams = [];
-    if (minValue) searchParams.push(`value > ${minValue} `);
-    if (stageFilter) searchParams.push(`stage:${stageFilter} `);
+    if (minValue.trim()) searchParams.push(`value>${searchValue(minValue)}`);
+    if (stageFilter) searchParams.push(`stage:${stageFilter}`);
     const searchString = searchParams.join(',');
 
     // Fetch Deals
-    const { data: deals, isLoading, error } = useQuery<Deal[]>({
-        queryKey: ['deals', searchString],
-        queryFn: () => dealsApi.getDeals(searchString || undefined),
-    });
+    const { items: deals, isLoading, error, hasNextPage, fetchNextPage, isFetchingNextPage } = useCursorQuery(
+        ['deals', searchString],
+        (cursor) => dealsApi.getDeals(searchString || undefined, cursor)
+    );
 
     const updateStageMutation = useMutation({
         mutationFn: ({ id, stage }: { id: string; stage: string }) => dealsApi.updateStage(id, stage),
@@ -65,7 +68,7 @@ export const DealsPage = () => {
     }
 
     const getColumnDeals = (stageId: string) => {
-        return deals?.filter(d => d.stage === stageId) || [];
+        return deals.filter(d => d.stage === stageId);
     };
 
     const handleDragStart = (e: React.DragEvent, id: string) => {
@@ -179,6 +182,8 @@ export const DealsPage = () => {
                     )
                 })}
             </div>
+
+            <LoadMore hasMore={hasNextPage} isLoading={isFetchingNextPage} onLoadMore={() => fetchNextPage()} />
         </div>
     );
 };
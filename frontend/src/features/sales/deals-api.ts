@@ -1,4 +1,4 @@
-import { api } from '../../lib/api';
+import { api, getPage } from '../../lib/api';
 
 export interface Deal {
     id: string;
@@ -9,11 +9,7 @@ export interface Deal {
 }
 
 export const dealsApi = {
-    getDeals: async (search?: string) => {
-        const params = search ? { search } : {};
-        const response = await api.get<Deal[]>('/deals', { params });
-        return response.data;
-    },
+    getDeals: (search?: string, cursor?: string) => getPage<Deal>('/deals', { search }, cursor),
 
     createDeal: async (deal: Partial<Deal>) => {
         const response = await api.post('/deals', deal);
@@ -0,0 +1,20 @@
+import { useMemo } from 'react';
+import { keepPreviousData, useInfiniteQuery, type QueryKey } from '@tanstack/react-query';
+import type { CursorPage } from '../lib/api';
+
+// Infinite query over a cursor-paged list endpoint; items holds every page loaded so far.
+export function useCursorQuery<T>(
+    queryKey: QueryKey,
+    fetchPage: (cursor?: string) => Promise<CursorPage<T>>,
+    options: { keepPrevious?: boolean } = {}
+) {
+    const query = useInfiniteQuery({
+        queryKey,
+        queryFn: ({ pageParam }) => fetchPage(pageParam),
+        initialPageParam: undefined as string | undefined,
+        getNextPageParam: (lastPage) => lastPage.nextCursor,
+        placeholderData: options.keepPrevious ? keepPreviousData : undefined,
+    });
+    const items = useMemo(() => query.data?.pages.flatMap((page) => page.items) ?? [], [query.data]);
+    return { ...query, items };
+}
@@ -25,3 +25,32 @@ api.interceptors.response.use(
         return Promise.reject(error);
     }
 );
+
+export interface CursorPage<T> {
+    items: T[];
+    nextCursor?: string;
+}
+
+// List endpoints return one page as the body; the cursor for the next page comes in X-Next-Cursor
+// and is absent on the last page.
+export const getPage = async <T>(
+    url: string,
+    params: Record<string, string | number | undefined> = {},
+    cursor?: string
+): Promise<CursorPage<T>> => {
+    const response = await api.get<T[]>(url, { params: { ...params, cursor } });
+    const nextCursor = response.headers['x-next-cursor'] as string | undefined;
+    return { items: response.data, nextCursor: nextCursor || undefined };
+};
+
+// Follows the cursor to the end. Only for reference lists that must be complete, such as form pickers.
+export const getAllPages = async <T>(url: string, params: Record<string, string | number | undefined> = {}) => {
+    const items: T[] = [];
+    let cursor: string | undefined;
+    do {
+        const page = await getPage<T>(url, { ...params, limit: 500 }, cursor);
+        items.push(...page.items);
+        cursor = page.nextCursor;
+    } while (cursor);
+    return items;
+};
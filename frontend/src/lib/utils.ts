@@ -4,3 +4,9 @@ import { twMerge } from "tailwind-merge";
 export function cn(...inputs: ClassValue[]) {
     return twMerge(clsx(inputs));
 }
+
+// Escapes a user-typed value for the backend's `key:value,key>value` search syntax, where a backslash
+// escapes the next character and an unescaped comma starts a new term.
+export function searchValue(value: string) {
+    return value.trim().replace(/[\\,]/g, (c) => `\\${c}`);
+}
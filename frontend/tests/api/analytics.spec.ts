@@ -54,9 +54,9 @@ test.describe('Analytics API', () => {
         const res = await apiContext.get('/api/analytics/revenue');
         expect(res.ok()).toBeTruthy();
         const data = await res.json();
-        expect(Array.isArray(data)).toBeTruthy();
-        // Since we created deals, we might expect some entries, but simple array check is baseline.
-        // data structure: [{date: 'YYYY-MM-DD', value: 10000}]
+        expect(Array.isArray(data.dates)).toBeTruthy();
+        expect(data.values).toHaveLength(data.dates.length);
+        // data structure: {from, to, granularity: 'DAY', dates: ['YYYY-MM-DD'], values: [10000]}
     });
 
     test('should return pipeline distribution', async () => {
@@ -73,7 +73,21 @@ test.describe('Analytics API', () => {
         const res = await apiContext.get('/api/analytics/activities');
         expect(res.ok()).toBeTruthy();
         const data = await res.json();
-        expect(Array.isArray(data)).toBeTruthy();
-        // data structure: [{date: 'YYYY-MM-DD', count: 1}]
+        expect(Array.isArray(data.dates)).toBeTruthy();
+        expect(data.values).toHaveLength(data.dates.length);
+        // data structure: {from, to, granularity: 'DAY', dates: ['YYYY-MM-DD'], values: [1]}
+    });
+
+    test('should aggregate revenue by month for an explicit range', async () => {
+        const res = await apiContext.get('/api/analytics/revenue?from=2020-01-01&granularity=month');
+        expect(res.ok()).toBeTruthy();
+        const data = await res.json();
+        expect(data.granularity).toBe('MONTH');
+        expect(data.from).toBe('2020-01-01');
+    });
+
+    test('should reject unknown granularity', async () => {
+        const res = await apiContext.get('/api/analytics/revenue?granularity=hour');
+        expect(res.status()).toBe(400);
     });
 });
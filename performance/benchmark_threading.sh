@@ -0,0 +1,49 @@
+#!/usr/bin/env bash
+# Compares platform-thread and virtual-thread request handling under the same load.
+#
+# Usage: performance/benchmark_threading.sh [users] [duration]
+# Requires: the database from docker-compose (docker-compose up db -d), locust, curl.
+set -euo pipefail
+
+USERS="${1:-200}"
+DURATION="${2:-60s}"
+HOST="http://localhost:9090"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+OUT="$ROOT/performance/results/$(date +%Y%m%d-%H%M%S)"
+mkdir -p "$OUT"
+
+(cd "$ROOT/backend" && ./mvnw -q clean package -DskipTests)
+JAR="$(ls "$ROOT"/backend/target/*.jar | head -n 1)"
+
+run() {
+    local mode="$1" virtual="$2"
+    echo "==> $mode threads"
+    java -Dspring.threads.virtual.enabled="$virtual" -jar "$JAR" > "$OUT/$mode-server.log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null || true' RETURN
+
+    until curl -sf -X POST "$HOST/api/test/seed-admin" > /dev/null; do sleep 1; done
+
+    # Warm up JIT and connection pool before measuring.
+    locust -f "$ROOT/performance/threading_mix.py" --headless --host "$HOST" \
+        -u "$USERS" -r "$USERS" -t 15s --only-summary > /dev/null 2>&1
+    locust -f "$ROOT/performance/threading_mix.py" --headless --host "$HOST" \
+        -u "$USERS" -r "$USERS" -t "$DURATION" --only-summary --csv "$OUT/$mode" > /dev/null 2>&1
+
+    grep -c "Virtual thread pinned" "$OUT/$mode-server.log" > "$OUT/$mode-pinned.txt" || true
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+}
+
+run platform false
+run virtual true
+
+printf "\n%-10s %-36s %12s %10s %10s\n" "mode" "endpoint" "req/s" "p50 (ms)" "p99 (ms)"
+for mode in platform virtual; do
+    # Columns: Type,Name,Request Count,Failure Count,Median,Average,Min,Max,Avg Size,Requests/s,...,99%,...
+    awk -F, -v mode="$mode" 'NR > 1 { printf "%-10s %-36s %12.1f %10s %10s\n", mode, $2, $10, $5, $19 }' \
+        "$OUT/${mode}_stats.csv"
+done
+echo
+echo "Pinned carrier events (virtual run): $(cat "$OUT/virtual-pinned.txt")"
+echo "Raw results: $OUT"
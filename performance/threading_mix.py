@@ -0,0 +1,30 @@
+"""Closed-loop request mix used by benchmark_threading.sh.
+
+Users issue requests back-to-back (no think time) so that throughput is bound by
+the server rather than by the client pacing used in locustfile.py.
+"""
+from locust import HttpUser, task, constant
+
+
+class ThreadingMixUser(HttpUser):
+    wait_time = constant(0)
+
+    def on_start(self):
+        response = self.client.post("/api/auth/login", json={
+            "email": "admin@example.com",
+            "password": "admin123"
+        })
+        if response.status_code == 200:
+            self.client.headers.update({"Authorization": f"Bearer {response.json().get('token')}"})
+
+    @task(3)
+    def list_contacts(self):
+        self.client.get("/api/contacts", name="/api/contacts")
+
+    @task(2)
+    def dashboard_stats(self):
+        self.client.get("/api/dashboard/stats", name="/api/dashboard/stats")
+
+    @task(1)
+    def dashboard_stats_fresh(self):
+        self.client.get("/api/dashboard/stats?fresh=true", name="/api/dashboard/stats?fresh=true")